@@ -88,10 +88,10 @@ public class MapEditorPanel extends JPanel implements MouseListener, MouseMotion
         if (mapBuilderPanel.getArea() != null) {
             Graphics2D graphics2D = (Graphics2D) graphics;
             graphics2D.translate(-xOffset, -yOffset);
-            for (int x = 0; x < mapBuilderPanel.getArea().getTiles().length; x++) {
-                for (int y = 0; y < mapBuilderPanel.getArea().getTiles()[x].length; y++) {
+            for (int x = 0; x < mapBuilderPanel.getArea().getRows(); x++) {
+                for (int y = 0; y < mapBuilderPanel.getArea().getColumns(); y++) {
                     Tile tile = mapBuilderPanel.getArea().getTileAt(x, y);
-                    tile.paint(graphics, x * tile.getWidth(), y * tile.getHeight());
+                    if (tile != null) tile.paint(graphics, x * tile.getWidth(), y * tile.getHeight());
                 }
             }
             graphics2D.translate(xOffset, yOffset);
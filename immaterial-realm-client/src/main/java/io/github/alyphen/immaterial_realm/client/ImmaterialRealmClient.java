@@ -1,5 +1,6 @@
 package io.github.alyphen.immaterial_realm.client;
 
+import io.github.alyphen.immaterial_realm.client.asset.AssetManager;
 import io.github.alyphen.immaterial_realm.client.character.CharacterManager;
 import io.github.alyphen.immaterial_realm.client.chat.ChatManager;
 import io.github.alyphen.immaterial_realm.client.network.NetworkManager;
@@ -21,6 +22,7 @@ public class ImmaterialRealmClient extends JPanel {
 
     private ImmaterialRealmClientFrame frame;
 
+    private AssetManager assetManager;
     private CharacterManager characterManager;
     private ChatManager chatManager;
     private DatabaseManager databaseManager;
@@ -43,6 +45,7 @@ public class ImmaterialRealmClient extends JPanel {
         databaseManager = new DatabaseManager("client");
         encryptionManager = new EncryptionManager();
         networkManager = new NetworkManager(this);
+        assetManager = new AssetManager(this);
         characterManager = new CharacterManager(this);
         loginManager = new LoginManager(this);
         playerManager = new PlayerManager(this);
@@ -87,6 +90,10 @@ public class ImmaterialRealmClient extends JPanel {
         return frame;
     }
 
+    public AssetManager getAssetManager() {
+        return assetManager;
+    }
+
     public CharacterManager getCharacterManager() {
         return characterManager;
     }
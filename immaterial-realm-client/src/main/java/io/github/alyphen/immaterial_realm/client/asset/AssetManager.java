@@ -0,0 +1,128 @@
+package io.github.alyphen.immaterial_realm.client.asset;
+
+import io.github.alyphen.immaterial_realm.client.ImmaterialRealmClient;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.asset.PacketRequestAssets;
+import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.netty.channel.ChannelHandlerContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+
+public class AssetManager {
+
+    private static final int MAX_HASHES_PER_REQUEST = 256;
+
+    private ImmaterialRealmClient client;
+    private Map<String, List<Consumer<byte[]>>> pendingAssets = new HashMap<>();
+    private Set<String> unrequestedAssets = new LinkedHashSet<>();
+    private List<Runnable> idleTasks = new ArrayList<>();
+    private Map<String, Sprite> sprites = new HashMap<>();
+
+    public AssetManager(ImmaterialRealmClient client) {
+        this.client = client;
+    }
+
+    public void getAsset(String hash, Consumer<byte[]> consumer) {
+        List<Consumer<byte[]>> consumers = pendingAssets.get(hash);
+        if (consumers != null) {
+            consumers.add(consumer);
+            return;
+        }
+        byte[] data = loadAsset(hash);
+        if (data != null) {
+            consumer.accept(data);
+            return;
+        }
+        consumers = new ArrayList<>();
+        consumers.add(consumer);
+        pendingAssets.put(hash, consumers);
+        unrequestedAssets.add(hash);
+    }
+
+    public void getSprite(String hash, Consumer<Sprite> consumer) {
+        Sprite sprite = sprites.get(hash);
+        if (sprite != null) {
+            consumer.accept(sprite.copy());
+            return;
+        }
+        getAsset(hash, data -> consumer.accept(sprites.computeIfAbsent(hash, key -> Sprite.fromByteArray(data)).copy()));
+    }
+
+    public void requestMissingAssets(ChannelHandlerContext ctx) {
+        if (unrequestedAssets.isEmpty()) return;
+        List<String> hashes = new ArrayList<>(unrequestedAssets);
+        unrequestedAssets.clear();
+        for (int i = 0; i < hashes.size(); i += MAX_HASHES_PER_REQUEST) {
+            ctx.write(new PacketRequestAssets(hashes.subList(i, Math.min(i + MAX_HASHES_PER_REQUEST, hashes.size()))));
+        }
+        ctx.flush();
+    }
+
+    public void onAssetReceived(String hash, byte[] data) {
+        if (data == null || !sha256Hex(data).equals(hash)) {
+            System.err.println("Discarding asset " + hash + ": content does not match its hash");
+            return;
+        }
+        try {
+            saveAsset(hash, data);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+        List<Consumer<byte[]>> consumers = pendingAssets.remove(hash);
+        if (consumers != null) {
+            consumers.forEach(consumer -> consumer.accept(data));
+        }
+        if (pendingAssets.isEmpty()) {
+            List<Runnable> tasks = new ArrayList<>(idleTasks);
+            idleTasks.clear();
+            tasks.forEach(Runnable::run);
+        }
+    }
+
+    public void whenIdle(Runnable task) {
+        if (pendingAssets.isEmpty()) {
+            task.run();
+        } else {
+            idleTasks.add(task);
+        }
+    }
+
+    private File getAssetDirectory() {
+        return new File("./characters/" + client.getNetworkManager().getServerAddress() + "/assets");
+    }
+
+    private byte[] loadAsset(String hash) {
+        File assetFile = new File(getAssetDirectory(), hash);
+        if (!assetFile.exists()) return null;
+        try {
+            byte[] data = Files.readAllBytes(assetFile.toPath());
+            if (sha256Hex(data).equals(hash)) return data;
+            Files.delete(assetFile.toPath());
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+        return null;
+    }
+
+    private void saveAsset(String hash, byte[] data) throws IOException {
+        File assetDirectory = getAssetDirectory();
+        if (!assetDirectory.exists()) assetDirectory.mkdirs();
+        File assetFile = new File(assetDirectory, hash);
+        File temporaryFile = new File(assetDirectory, hash + ".tmp");
+        Files.write(temporaryFile.toPath(), data);
+        try {
+            Files.move(temporaryFile.toPath(), assetFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporaryFile.toPath(), assetFile.toPath(), REPLACE_EXISTING);
+        }
+    }
+
+}
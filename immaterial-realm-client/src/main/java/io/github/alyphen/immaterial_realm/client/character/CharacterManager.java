@@ -1,19 +1,27 @@
 package io.github.alyphen.immaterial_realm.client.character;
 
 import io.github.alyphen.immaterial_realm.client.ImmaterialRealmClient;
+import io.github.alyphen.immaterial_realm.client.asset.AssetManager;
 import io.github.alyphen.immaterial_realm.common.character.Character;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.character.PacketSendSpriteSet;
 import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
 
 import java.io.File;
 import java.io.IOException;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class CharacterManager {
 
     private ImmaterialRealmClient client;
     private Map<Long, Character> characters = new HashMap<>();
+    private Map<Integer, PacketSendSpriteSet> spriteSets = new HashMap<>();
+    private Map<Integer, List<Consumer<PacketSendSpriteSet>>> pendingSpriteSets = new HashMap<>();
+    private volatile int maxSpriteExtent;
 
     public CharacterManager(ImmaterialRealmClient client) {
         this.client = client;
@@ -95,6 +103,46 @@ public class CharacterManager {
         return null;
     }
 
+    public void addSpriteSet(PacketSendSpriteSet spriteSet) {
+        spriteSets.put(spriteSet.getId(), spriteSet);
+        List<Consumer<PacketSendSpriteSet>> consumers = pendingSpriteSets.remove(spriteSet.getId());
+        if (consumers != null) {
+            consumers.forEach(consumer -> consumer.accept(spriteSet));
+        }
+    }
+
+    public void setSpriteSet(Character character, int spriteSetId) {
+        PacketSendSpriteSet spriteSet = spriteSets.get(spriteSetId);
+        if (spriteSet == null) {
+            pendingSpriteSets.computeIfAbsent(spriteSetId, id -> new ArrayList<>()).add(pending -> setSpriteSet(character, pending));
+        } else {
+            setSpriteSet(character, spriteSet);
+        }
+    }
+
+    private void setSpriteSet(Character character, PacketSendSpriteSet spriteSet) {
+        AssetManager assetManager = client.getAssetManager();
+        assetManager.getSprite(spriteSet.getWalkUpSpriteHash(), trackExtent(character::setWalkUpSprite));
+        assetManager.getSprite(spriteSet.getWalkDownSpriteHash(), trackExtent(character::setWalkDownSprite));
+        assetManager.getSprite(spriteSet.getWalkLeftSpriteHash(), trackExtent(character::setWalkLeftSprite));
+        assetManager.getSprite(spriteSet.getWalkRightSpriteHash(), trackExtent(character::setWalkRightSprite));
+    }
+
+    private Consumer<Sprite> trackExtent(Consumer<Sprite> consumer) {
+        return sprite -> {
+            if (sprite != null) updateMaxSpriteExtent(Math.max(sprite.getWidth(), sprite.getHeight()));
+            consumer.accept(sprite);
+        };
+    }
+
+    private synchronized void updateMaxSpriteExtent(int extent) {
+        if (extent > maxSpriteExtent) maxSpriteExtent = extent;
+    }
+
+    public int getMaxSpriteExtent() {
+        return maxSpriteExtent;
+    }
+
     public Character getCharacter(long id) throws SQLException {
         Character character = characters.get(id);
         if (character != null) {
@@ -10,6 +10,7 @@ import io.github.alyphen.immaterial_realm.common.object.WorldObject;
 import io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory;
 import io.github.alyphen.immaterial_realm.common.object.WorldObjectInitializer;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.PacketPong;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.asset.PacketSendAsset;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketClientboundGlobalChatMessage;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketClientboundLocalChatMessage;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketSetChannel;
@@ -18,6 +19,7 @@ import io.github.alyphen.immaterial_realm.common.packet.clientbound.player.Packe
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.player.PacketPlayerLeave;
 import io.github.alyphen.immaterial_realm.common.packet.serverbound.PacketPing;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.character.PacketCharacterSpawn;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.character.PacketSendSpriteSet;
 import io.github.alyphen.immaterial_realm.common.packet.serverbound.chat.PacketRequestChannels;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketSendChannel;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.entity.PacketEntityMove;
@@ -47,6 +49,7 @@ import java.awt.*;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.sql.SQLException;
+import java.util.stream.Collectors;
 
 import static io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory.registerObjectInitializer;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -94,11 +97,27 @@ public class ImmaterialRealmClientHandler extends ChannelHandlerAdapter {
             ctx.writeAndFlush(new PacketRequestWorlds());
             ctx.writeAndFlush(new PacketRequestChannels());
         } else if (msg instanceof PacketSendTileSheet) {
-            TileSheet.load((PacketSendTileSheet) msg);
+            PacketSendTileSheet packet = (PacketSendTileSheet) msg;
+            client.getAssetManager().getAsset(packet.getHash(), data -> {
+                try {
+                    TileSheet.load(packet.getName(), data, packet.getTileWidth(), packet.getTileHeight());
+                } catch (IOException exception) {
+                    exception.printStackTrace();
+                }
+            });
         } else if (msg instanceof PacketSendObjectType) {
             PacketSendObjectType packet = (PacketSendObjectType) msg;
             registerObjectInitializer(packet.getName(), new WorldObjectInitializer() {
 
+                private Sprite sprite;
+
+                {
+                    client.getAssetManager().getSprite(packet.getSpriteHash(), objectSprite -> {
+                        sprite = objectSprite;
+                        World.getWorlds().stream().forEach(world -> world.getAreas().stream().forEach(area -> area.getObjects().stream().filter(object -> object.getType().equals(getObjectName()) && object.getSprite() == null).forEach(object -> object.setSprite(sprite))));
+                    });
+                }
+
                 @Override
                 public String getObjectName() {
                     return packet.getName();
@@ -106,7 +125,7 @@ public class ImmaterialRealmClientHandler extends ChannelHandlerAdapter {
 
                 @Override
                 public Sprite getObjectSprite() {
-                    return packet.getSprite();
+                    return sprite;
                 }
 
                 @Override
@@ -123,11 +142,19 @@ public class ImmaterialRealmClientHandler extends ChannelHandlerAdapter {
         } else if (msg instanceof PacketSendWorld) {
             PacketSendWorld packet = (PacketSendWorld) msg;
             client.getWorldPanel().setWorld(World.create(packet.getName()));
-            ctx.writeAndFlush(new PacketRequestCurrentWorldArea());
+            client.getAssetManager().whenIdle(() -> ctx.writeAndFlush(new PacketRequestCurrentWorldArea()));
         } else if (msg instanceof PacketSendArea) {
             PacketSendArea packet = (PacketSendArea) msg;
             client.getWorldPanel().getWorld().addArea(WorldArea.load(packet));
             ctx.writeAndFlush(new PacketRequestObjects(packet.getWorld(), packet.getArea()));
+        } else if (msg instanceof PacketSendAreaChunk) {
+            PacketSendAreaChunk packet = (PacketSendAreaChunk) msg;
+            client.getAssetManager().whenIdle(() -> {
+                World world = client.getWorldPanel().getWorld();
+                if (world == null || !world.getName().equals(packet.getWorld())) return;
+                WorldArea area = world.getArea(packet.getArea());
+                if (area != null) area.setChunkTiles(packet.getChunkRow(), packet.getChunkColumn(), packet.getTiles());
+            });
         } else if (msg instanceof PacketShowArea) {
             PacketShowArea packet = (PacketShowArea) msg;
             client.getWorldPanel().setArea(client.getWorldPanel().getWorld().getArea(packet.getArea()));
@@ -135,9 +162,11 @@ public class ImmaterialRealmClientHandler extends ChannelHandlerAdapter {
             PacketCreateObject packet = (PacketCreateObject) msg;
             if (client.getWorldPanel().getWorld().getName().equals(packet.getWorld()) && client.getWorldPanel().getArea().getName().equals(packet.getArea())) {
                 WorldObject object = WorldObjectFactory.createObject(packet.getType());
-                object.setX(packet.getX());
-                object.setY(packet.getY());
-                client.getWorldPanel().getArea().addObject(object);
+                if (object != null) {
+                    object.setX(packet.getX());
+                    object.setY(packet.getY());
+                    client.getWorldPanel().getArea().addObject(object);
+                }
             }
         } else if (msg instanceof PacketEntitySpawn) {
             PacketEntitySpawn packet = (PacketEntitySpawn) msg;
@@ -167,11 +196,8 @@ public class ImmaterialRealmClientHandler extends ChannelHandlerAdapter {
                         character.setY(packet.getY());
                         client.getCharacterManager().updateCharacter(character);
                     }
-                    character.setWalkUpSprite(packet.getWalkUpSprite());
-                    character.setWalkDownSprite(packet.getWalkDownSprite());
-                    character.setWalkLeftSprite(packet.getWalkLeftSprite());
-                    character.setWalkRightSprite(packet.getWalkRightSprite());
-                    EntityCharacter entity = EntityFactory.spawn(EntityCharacter.class, client.getWorldPanel().getArea(), packet.getX(), packet.getY());
+                    client.getCharacterManager().setSpriteSet(character, packet.getSpriteSetId());
+                    EntityCharacter entity = EntityFactory.spawn(EntityCharacter.class, client.getWorldPanel().getArea(), packet.getEntityId(), packet.getX(), packet.getY());
                     entity.setCharacter(character);
                     if (character.getPlayerId() == client.getPlayerManager().getPlayer(client.getPlayerName()).getId()) {
                         client.getWorldPanel().setPlayerCharacter(entity);
@@ -181,13 +207,7 @@ public class ImmaterialRealmClientHandler extends ChannelHandlerAdapter {
         } else if (msg instanceof PacketEntityMove) {
             PacketEntityMove packet = (PacketEntityMove) msg;
             if (packet.getAreaName().equals(client.getWorldPanel().getArea().getName())) {
-                Entity entity = null;
-                for (Entity entity1 : client.getWorldPanel().getArea().getEntities()) {
-                    if (packet.getEntityId() == entity1.getId()) {
-                        entity = entity1;
-                        break;
-                    }
-                }
+                Entity entity = client.getWorldPanel().getArea().getEntity(packet.getEntityId());
                 if (entity != null) {
                     entity.setDirectionFacing(packet.getDirectionFacing());
                     entity.setX(packet.getX());
@@ -201,10 +221,10 @@ public class ImmaterialRealmClientHandler extends ChannelHandlerAdapter {
             client.getChatManager().addChannel(new ChatChannel(packet.getName(), packet.getColour(), packet.getRadius()));
         } else if (msg instanceof PacketClientboundLocalChatMessage) {
             PacketClientboundLocalChatMessage packet = (PacketClientboundLocalChatMessage) msg;
-            client.getWorldPanel().getArea().getEntities().stream().filter(entity -> (entity instanceof EntityCharacter && ((EntityCharacter) entity).getCharacter().getId() == packet.getCharacterId())).forEach(entity -> {
-                EntityCharacter character = (EntityCharacter) entity;
-                character.setLastChatMessage(packet.getMessage());
-            });
+            EntityCharacter characterEntity = client.getWorldPanel().getArea().getCharacterEntity(packet.getCharacterId());
+            if (characterEntity != null) {
+                characterEntity.setLastChatMessage(packet.getMessage());
+            }
         } else if (msg instanceof PacketSetChannel) {
             PacketSetChannel packet = (PacketSetChannel) msg;
             client.getChatManager().setChannel(client.getChatManager().getChannel(packet.getChannel()));
@@ -218,17 +238,22 @@ public class ImmaterialRealmClientHandler extends ChannelHandlerAdapter {
             } else {
                 client.getPlayerManager().updatePlayer(new Player(packet.getPlayerId(), packet.getPlayerName()));
             }
+        } else if (msg instanceof PacketSendSpriteSet) {
+            client.getCharacterManager().addSpriteSet((PacketSendSpriteSet) msg);
+        } else if (msg instanceof PacketSendAsset) {
+            PacketSendAsset packet = (PacketSendAsset) msg;
+            client.getAssetManager().onAssetReceived(packet.getHash(), packet.getData());
         } else if (msg instanceof PacketPlayerLeave) {
             PacketPlayerLeave packet = (PacketPlayerLeave) msg;
-            client.getWorldPanel().getArea().getEntities().stream().filter(entity -> entity instanceof EntityCharacter).forEach(entity -> {
-                EntityCharacter characterEntity  = (EntityCharacter) entity;
-                if (characterEntity.getCharacter().getPlayerId() == packet.getPlayerId()) {
-                    client.getWorldPanel().getArea().removeEntity(characterEntity);
-                }
-            });
+            client.getWorldPanel().getArea().getEntities().stream().filter(entity -> entity instanceof EntityCharacter && ((EntityCharacter) entity).getCharacter().getPlayerId() == packet.getPlayerId()).collect(Collectors.toList()).forEach(entity -> client.getWorldPanel().getArea().removeEntity(entity));
         }
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        client.getAssetManager().requestMissingAssets(ctx);
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext context, Throwable cause) throws Exception {
         cause.printStackTrace();
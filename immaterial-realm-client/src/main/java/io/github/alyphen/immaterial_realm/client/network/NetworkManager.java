@@ -2,6 +2,9 @@ package io.github.alyphen.immaterial_realm.client.network;
 
 import io.github.alyphen.immaterial_realm.client.ImmaterialRealmClient;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.github.alyphen.immaterial_realm.common.packet.PacketDecoder;
+import io.github.alyphen.immaterial_realm.common.packet.PacketEncoder;
+import io.github.alyphen.immaterial_realm.common.packet.PacketFrameDecoder;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
@@ -9,12 +12,12 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
-import io.netty.handler.codec.serialization.ObjectEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
 
 public class NetworkManager {
 
+    private static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
     private final ImmaterialRealmClient client;
     private Channel channel;
 
@@ -58,8 +61,10 @@ public class NetworkManager {
                         @Override
                         public void initChannel(SocketChannel channel) throws Exception {
                             channel.pipeline().addLast(
-                                    new ObjectEncoder(),
-                                    new ObjectDecoder(ClassResolvers.cacheDisabled(null)),
+                                    new PacketFrameDecoder(MAX_FRAME_LENGTH),
+                                    new PacketDecoder(),
+                                    new ProtobufVarint32LengthFieldPrepender(),
+                                    new PacketEncoder(),
                                     new ImmaterialRealmClientHandler(client)
                             );
                         }
@@ -2,13 +2,20 @@ package io.github.alyphen.immaterial_realm.client.panel;
 
 import io.github.alyphen.immaterial_realm.client.ImmaterialRealmClient;
 import io.github.alyphen.immaterial_realm.client.chat.ChatBox;
+import io.github.alyphen.immaterial_realm.common.entity.Entity;
 import io.github.alyphen.immaterial_realm.common.entity.EntityCharacter;
+import io.github.alyphen.immaterial_realm.common.object.WorldObject;
+import io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory;
+import io.github.alyphen.immaterial_realm.common.object.WorldObjectInitializer;
+import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
 import io.github.alyphen.immaterial_realm.common.tile.Tile;
 import io.github.alyphen.immaterial_realm.common.world.World;
 import io.github.alyphen.immaterial_realm.common.world.WorldArea;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class WorldPanel extends JPanel {
 
@@ -19,6 +26,8 @@ public class WorldPanel extends JPanel {
     private WorldArea area;
     private EntityCharacter playerCharacter;
     private ChatBox chatBox;
+    private List<WorldObject> visibleObjects = new ArrayList<>();
+    private List<Entity> visibleEntities = new ArrayList<>();
 
     public WorldPanel(ImmaterialRealmClient client) {
         this.client = client;
@@ -37,30 +46,30 @@ public class WorldPanel extends JPanel {
         if (getArea() != null && getPlayerCharacter() != null) {
             Graphics2D graphics2D = (Graphics2D) graphics;
             graphics2D.translate(-getCameraX(), -getCameraY());
-            for (int row = 0; row < area.getRows(); row++) {
-                for (int col = 0; col < area.getColumns(); col++) {
+            int tileWidth = getArea().getTileWidth();
+            int tileHeight = getArea().getTileHeight();
+            int firstRow = Math.max(0, Math.floorDiv(getCameraY(), tileHeight));
+            int lastRow = Math.min(getArea().getRows() - 1, Math.floorDiv(getCameraY() + getHeight(), tileHeight));
+            int firstCol = Math.max(0, Math.floorDiv(getCameraX(), tileWidth));
+            int lastCol = Math.min(getArea().getColumns() - 1, Math.floorDiv(getCameraX() + getWidth(), tileWidth));
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int col = firstCol; col <= lastCol; col++) {
                     Tile tile = getArea().getTileAt(row, col);
-                    int x = col * tile.getSheet().getTileWidth();
-                    int y = row * tile.getSheet().getTileHeight();
-                    if (x + tile.getSheet().getTileWidth() >= getCameraX()
-                            && x <= getCameraX() + getWidth()
-                            && y + tile.getSheet().getTileHeight() >= getCameraY()
-                            && y <= getCameraY() + getHeight())
-                        tile.paint(graphics, x, y);
+                    if (tile != null) tile.paint(graphics, col * tileWidth, row * tileHeight);
                 }
             }
-            getArea().getObjects().stream().filter(object -> object.getX() + object.getBounds().getWidth() >= getCameraX()
-                    && object.getX() <= getCameraX() + getWidth()
-                    && object.getY() + object.getBounds().getHeight() >= getCameraY()
-                    && object.getY() <= getCameraY() + getHeight()).forEach(object -> {
+            visibleObjects.clear();
+            int objectMargin = getObjectMargin();
+            getArea().getObjectGrid().getInRectangle(getCameraX() - objectMargin, getCameraY() - objectMargin, getWidth() + objectMargin, getHeight() + objectMargin, visibleObjects);
+            visibleObjects.stream().filter(object -> isVisible(object.getX(), object.getY(), object.getSprite(), object.getBounds())).forEach(object -> {
                 graphics2D.translate(object.getX(), object.getY());
                 object.paint(graphics);
                 graphics2D.translate(-object.getX(), -object.getY());
             });
-            getArea().getEntities().stream().filter(entity -> entity.getX() + entity.getBounds().getWidth() >= getCameraX()
-                    && entity.getX() <= getCameraX() + getWidth()
-                    && entity.getY() + entity.getBounds().getHeight() >= getCameraY()
-                    && entity.getY() <= getCameraY() + getHeight()).forEach(entity -> {
+            visibleEntities.clear();
+            int entityMargin = client.getCharacterManager().getMaxSpriteExtent();
+            getArea().getEntityGrid().getInRectangle(getCameraX() - entityMargin, getCameraY() - entityMargin, getWidth() + entityMargin, getHeight() + entityMargin, visibleEntities);
+            visibleEntities.stream().filter(entity -> isVisible(entity.getX(), entity.getY(), entity.getSprite(), entity.getBounds())).forEach(entity -> {
                 graphics2D.translate(entity.getX(), entity.getY());
                 entity.paint(graphics);
                 graphics2D.translate(-entity.getX(), -entity.getY());
@@ -70,6 +79,31 @@ public class WorldPanel extends JPanel {
         chatBox.render(graphics);
     }
 
+    private int getObjectMargin() {
+        int margin = 0;
+        for (WorldObjectInitializer initializer : WorldObjectFactory.getObjectInitializers()) {
+            Rectangle bounds = initializer.getObjectBounds();
+            margin = Math.max(margin, getExtent(initializer.getObjectSprite(), bounds == null ? 0 : bounds.x + bounds.width, bounds == null ? 0 : bounds.y + bounds.height));
+        }
+        return margin;
+    }
+
+    private int getExtent(Sprite sprite, int boundsRight, int boundsBottom) {
+        int extent = Math.max(boundsRight, boundsBottom);
+        if (sprite != null) extent = Math.max(extent, Math.max(sprite.getWidth(), sprite.getHeight()));
+        return extent;
+    }
+
+    private boolean isVisible(int x, int y, Sprite sprite, Rectangle bounds) {
+        int right = bounds == null ? x : bounds.x + bounds.width;
+        int bottom = bounds == null ? y : bounds.y + bounds.height;
+        if (sprite != null) {
+            right = Math.max(right, x + sprite.getWidth());
+            bottom = Math.max(bottom, y + sprite.getHeight());
+        }
+        return right >= getCameraX() && bottom >= getCameraY();
+    }
+
     public boolean isActive() {
         return active;
     }
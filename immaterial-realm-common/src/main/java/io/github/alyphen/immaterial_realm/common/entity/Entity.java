@@ -1,15 +1,19 @@
 package io.github.alyphen.immaterial_realm.common.entity;
 
 import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.github.alyphen.immaterial_realm.common.tick.TickTimeout;
 import io.github.alyphen.immaterial_realm.common.world.Direction;
+import io.github.alyphen.immaterial_realm.common.world.Locatable;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
 
 import java.awt.*;
 
 import static io.github.alyphen.immaterial_realm.common.world.Direction.DOWN;
 
-public abstract class Entity {
+public abstract class Entity implements Locatable {
 
     private long id;
+    private WorldArea area;
     private int x;
     private int y;
     private int dx;
@@ -17,6 +21,7 @@ public abstract class Entity {
     private int oldDx;
     private int oldDy;
     private boolean speedChanged;
+    private boolean cellChanged;
     private Direction directionFacing;
 
     public Entity(long id) {
@@ -28,24 +33,50 @@ public abstract class Entity {
         return id;
     }
 
+    public WorldArea getArea() {
+        return area;
+    }
+
+    public void setArea(WorldArea area) {
+        this.area = area;
+    }
+
     public Direction getDirectionFacing() {
         return directionFacing;
     }
 
+    @Override
     public int getX() {
         return x;
     }
 
     public void setX(int x) {
-        this.x = x;
+        moveTo(x, y);
     }
 
+    @Override
     public int getY() {
         return y;
     }
 
     public void setY(int y) {
+        moveTo(x, y);
+    }
+
+    private void moveTo(int x, int y) {
+        int oldX = this.x;
+        int oldY = this.y;
+        this.x = x;
         this.y = y;
+        if (area != null && (oldX != x || oldY != y) && area.getEntityGrid().move(this, oldX, oldY)) cellChanged = true;
+    }
+
+    public TickTimeout schedule(Runnable task, long delay) {
+        return area == null ? null : area.getTimer().schedule(task, delay);
+    }
+
+    public TickTimeout scheduleRepeating(Runnable task, long delay, long period) {
+        return area == null ? null : area.getTimer().scheduleRepeating(task, delay, period);
     }
 
     public int distance(Entity entity) {
@@ -79,9 +110,8 @@ public abstract class Entity {
         if (speedChanged) {
             oldDx = dx;
             oldDy = dy;
-        } else {
-            x += dx;
-            y += dy;
+        } else if (dx != 0 || dy != 0) {
+            moveTo(x + dx, y + dy);
         }
     }
 
@@ -89,6 +119,14 @@ public abstract class Entity {
         return speedChanged;
     }
 
+    public boolean isCellChanged() {
+        return cellChanged;
+    }
+
+    public void setCellChanged(boolean cellChanged) {
+        this.cellChanged = cellChanged;
+    }
+
     public void setDirectionFacing(Direction direction) {
         this.directionFacing = direction;
     }
@@ -2,6 +2,7 @@ package io.github.alyphen.immaterial_realm.common.entity;
 
 import io.github.alyphen.immaterial_realm.common.character.Character;
 import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
 
 import java.awt.*;
 import java.awt.geom.GeneralPath;
@@ -71,7 +72,9 @@ public class EntityCharacter extends Entity {
 
     @Override
     public Rectangle getBounds() {
-        return new Rectangle(getX(), getY() + getSprite().getHeight() / 2, getSprite().getWidth(), getSprite().getHeight() / 2);
+        Sprite sprite = getSprite();
+        if (sprite == null) return new Rectangle(getX(), getY(), 0, 0);
+        return new Rectangle(getX(), getY() + sprite.getHeight() / 2, sprite.getWidth(), sprite.getHeight() / 2);
     }
 
     public Character getCharacter() {
@@ -79,7 +82,10 @@ public class EntityCharacter extends Entity {
     }
 
     public void setCharacter(Character character) {
+        WorldArea area = getArea();
+        if (area != null && this.character != null) area.removeCharacterIndex(this);
         this.character = character;
+        if (area != null && character != null) area.addCharacterIndex(this);
     }
 
     public String getLastChatMessage() {
@@ -5,16 +5,21 @@ import io.github.alyphen.immaterial_realm.common.world.World;
 import io.github.alyphen.immaterial_realm.common.world.WorldArea;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class EntityFactory {
 
-    private static int id;
+    private static AtomicLong id = new AtomicLong();
 
     private EntityFactory() {}
 
     public static <T extends Entity> T spawn(Class<T> entityClass, WorldArea area, int x, int y) {
+        return spawn(entityClass, area, id.getAndIncrement(), x, y);
+    }
+
+    public static <T extends Entity> T spawn(Class<T> entityClass, WorldArea area, long id, int x, int y) {
         try {
-            T entity = entityClass.getConstructor(long.class).newInstance(id++);
+            T entity = entityClass.getConstructor(long.class).newInstance(id);
             entity.setX(x);
             entity.setY(y);
             area.addEntity(entity);
@@ -26,7 +31,7 @@ public class EntityFactory {
     }
 
     public static Entity spawn(PacketEntitySpawn packet, World world) {
-        return spawn(packet.getEntityClass(), world.getArea(packet.getAreaName()), packet.getX(), packet.getY());
+        return spawn(packet.getEntityClass(), world.getArea(packet.getAreaName()), packet.getId(), packet.getX(), packet.getY());
     }
 
 }
@@ -1,17 +1,22 @@
 package io.github.alyphen.immaterial_realm.common.object;
 
 import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.github.alyphen.immaterial_realm.common.tick.TickTimeout;
+import io.github.alyphen.immaterial_realm.common.world.Locatable;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
 
 import java.awt.*;
 
-public class WorldObject {
+public class WorldObject implements Locatable {
 
     private long id;
     private String type;
+    private WorldArea area;
     private int x;
     private int y;
     private Sprite sprite;
     private Rectangle bounds;
+    private boolean ticking = true;
 
     public WorldObject(long id, String type, Sprite sprite, Rectangle bounds) {
         this.id = id;
@@ -28,20 +33,41 @@ public class WorldObject {
         return type;
     }
 
+    public WorldArea getArea() {
+        return area;
+    }
+
+    public void setArea(WorldArea area) {
+        this.area = area;
+    }
+
+    @Override
     public int getX() {
         return x;
     }
 
     public void setX(int x) {
-        this.x = x;
+        moveTo(x, y);
     }
 
+    @Override
     public int getY() {
         return y;
     }
 
     public void setY(int y) {
+        moveTo(x, y);
+    }
+
+    private void moveTo(int x, int y) {
+        int oldX = this.x;
+        int oldY = this.y;
+        this.x = x;
         this.y = y;
+        if (area != null && (oldX != x || oldY != y)) {
+            area.getObjectGrid().move(this, oldX, oldY);
+            area.markObjectsModified();
+        }
     }
 
     public Sprite getSprite() {
@@ -52,14 +78,32 @@ public class WorldObject {
         this.sprite = sprite;
     }
 
+    public boolean isTicking() {
+        return ticking;
+    }
+
+    public void setTicking(boolean ticking) {
+        if (this.ticking == ticking) return;
+        this.ticking = ticking;
+        if (area != null) area.updateTicking(this);
+    }
+
+    public TickTimeout schedule(Runnable task, long delay) {
+        return area == null ? null : area.getTimer().schedule(task, delay);
+    }
+
+    public TickTimeout scheduleRepeating(Runnable task, long delay, long period) {
+        return area == null ? null : area.getTimer().scheduleRepeating(task, delay, period);
+    }
+
     public void onTick() {
-        getSprite().onTick();
+        if (getSprite() != null) getSprite().onTick();
     }
 
     public void onInteract() {}
 
     public void paint(Graphics graphics) {
-        getSprite().paint(graphics);
+        if (getSprite() != null) getSprite().paint(graphics);
     }
 
     public Rectangle getBounds() {
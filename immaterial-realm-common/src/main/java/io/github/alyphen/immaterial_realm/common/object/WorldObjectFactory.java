@@ -3,10 +3,11 @@ package io.github.alyphen.immaterial_realm.common.object;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class WorldObjectFactory {
 
-    private static long id;
+    private static AtomicLong id = new AtomicLong();
     private static Map<String, WorldObjectInitializer> initializers;
 
     static {
@@ -19,11 +20,17 @@ public class WorldObjectFactory {
 
     public static WorldObject createObject(String type) {
         if (initializers.containsKey(type))
-            return initializers.get(type).initialize(id++);
+            return initializers.get(type).initialize(id.getAndIncrement());
         else
             return null;
     }
 
+    public static WorldObject createObject(String type, long objectId) {
+        if (!initializers.containsKey(type)) return null;
+        id.accumulateAndGet(objectId + 1, Math::max);
+        return initializers.get(type).initialize(objectId);
+    }
+
     public static Collection<WorldObjectInitializer> getObjectInitializers() {
         return initializers.values();
     }
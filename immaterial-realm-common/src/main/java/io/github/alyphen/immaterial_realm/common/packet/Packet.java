@@ -1,13 +1,15 @@
 package io.github.alyphen.immaterial_realm.common.packet;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 
-import java.io.Serializable;
-
-public abstract class Packet implements Serializable {
+public abstract class Packet {
 
     public void send(Channel channel) {
         channel.writeAndFlush(this);
     }
 
+    public void write(ByteBuf buf) {
+    }
+
 }
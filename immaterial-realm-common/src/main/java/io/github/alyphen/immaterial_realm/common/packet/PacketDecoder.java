@@ -0,0 +1,22 @@
+package io.github.alyphen.immaterial_realm.common.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+
+import java.util.List;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.readVarInt;
+
+public class PacketDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf frame, List<Object> out) throws Exception {
+        int id = readVarInt(frame);
+        Packet packet = PacketRegistry.read(id, frame);
+        if (frame.isReadable()) throw new CorruptedFrameException(frame.readableBytes() + " unread bytes after packet " + id);
+        out.add(packet);
+    }
+
+}
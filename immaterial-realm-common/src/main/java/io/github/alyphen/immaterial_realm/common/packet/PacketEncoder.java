@@ -0,0 +1,33 @@
+package io.github.alyphen.immaterial_realm.common.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.writeVarInt;
+
+public class PacketEncoder extends MessageToByteEncoder<Packet> {
+
+    public static ByteBuf encode(ByteBufAllocator allocator, Packet packet) {
+        ByteBuf buf = allocator.buffer();
+        try {
+            encode(packet, buf);
+        } catch (RuntimeException exception) {
+            buf.release();
+            throw exception;
+        }
+        return buf;
+    }
+
+    private static void encode(Packet packet, ByteBuf out) {
+        writeVarInt(out, PacketRegistry.getId(packet));
+        packet.write(out);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Packet packet, ByteBuf out) throws Exception {
+        encode(packet, out);
+    }
+
+}
@@ -0,0 +1,41 @@
+package io.github.alyphen.immaterial_realm.common.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.List;
+
+public class PacketFrameDecoder extends ByteToMessageDecoder {
+
+    private final int maxFrameLength;
+
+    public PacketFrameDecoder(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        in.markReaderIndex();
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (!in.isReadable()) {
+                in.resetReaderIndex();
+                return;
+            }
+            if (shift >= 35) throw new CorruptedFrameException("Frame length too long");
+            byte b = in.readByte();
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) break;
+        }
+        if (length < 0 || length > maxFrameLength) throw new TooLongFrameException("Frame length " + length + " exceeds " + maxFrameLength);
+        if (in.readableBytes() < length) {
+            in.resetReaderIndex();
+            return;
+        }
+        out.add(in.readSlice(length).retain());
+    }
+
+}
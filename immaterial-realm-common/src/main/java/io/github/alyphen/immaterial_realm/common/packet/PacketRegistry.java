@@ -0,0 +1,111 @@
+package io.github.alyphen.immaterial_realm.common.packet;
+
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.PacketPong;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.asset.PacketSendAsset;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.character.PacketCharacterSpawn;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.character.PacketSendSpriteSet;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketClientboundGlobalChatMessage;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketClientboundLocalChatMessage;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketSendChannel;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketSetChannel;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.entity.PacketEntityMove;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.entity.PacketEntitySpawn;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.login.PacketClientboundPublicKey;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.login.PacketLoginStatus;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.login.PacketVersion;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.object.PacketCreateObject;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.object.PacketSendObjectType;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.player.PacketPlayerJoin;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.player.PacketPlayerLeave;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.player.PacketSendPlayers;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.tile.PacketSendTileSheet;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.PacketPing;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.asset.PacketRequestAssets;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.chat.PacketRequestChannels;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.chat.PacketServerboundGlobalChatMessage;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.chat.PacketServerboundLocalChatMessage;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.control.PacketControlPressed;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.control.PacketControlReleased;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.login.PacketLoginDetails;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.login.PacketServerboundPublicKey;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.object.PacketRequestObjectTypes;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.player.PacketRequestPlayers;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.tile.PacketRequestTileSheet;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.tile.PacketRequestTileSheets;
+import io.github.alyphen.immaterial_realm.common.packet.world.*;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.CorruptedFrameException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public class PacketRegistry {
+
+    private static final Map<Class<? extends Packet>, Integer> ids = new HashMap<>();
+    private static final Map<Integer, Function<ByteBuf, ? extends Packet>> readers = new HashMap<>();
+
+    static {
+        register(0, PacketPing.class, buf -> new PacketPing());
+        register(1, PacketPong.class, buf -> new PacketPong());
+        register(2, PacketVersion.class, PacketVersion::new);
+        register(3, PacketClientboundPublicKey.class, PacketClientboundPublicKey::new);
+        register(4, PacketServerboundPublicKey.class, PacketServerboundPublicKey::new);
+        register(5, PacketLoginDetails.class, PacketLoginDetails::new);
+        register(6, PacketLoginStatus.class, PacketLoginStatus::new);
+        register(7, PacketRequestPlayers.class, buf -> new PacketRequestPlayers());
+        register(8, PacketSendPlayers.class, PacketSendPlayers::new);
+        register(9, PacketPlayerJoin.class, PacketPlayerJoin::new);
+        register(10, PacketPlayerLeave.class, PacketPlayerLeave::new);
+        register(11, PacketRequestTileSheets.class, buf -> new PacketRequestTileSheets());
+        register(12, PacketRequestTileSheet.class, PacketRequestTileSheet::new);
+        register(13, PacketSendTileSheet.class, PacketSendTileSheet::new);
+        register(14, PacketRequestObjectTypes.class, buf -> new PacketRequestObjectTypes());
+        register(15, PacketSendObjectType.class, PacketSendObjectType::new);
+        register(16, PacketRequestWorlds.class, buf -> new PacketRequestWorlds());
+        register(17, PacketSendWorld.class, PacketSendWorld::new);
+        register(18, PacketRequestWorldAreas.class, PacketRequestWorldAreas::new);
+        register(19, PacketRequestWorldArea.class, PacketRequestWorldArea::new);
+        register(20, PacketRequestCurrentWorldArea.class, buf -> new PacketRequestCurrentWorldArea());
+        register(21, PacketSendArea.class, PacketSendArea::new);
+        register(22, PacketShowArea.class, PacketShowArea::new);
+        register(23, PacketRequestObjects.class, PacketRequestObjects::new);
+        register(24, PacketCreateObject.class, PacketCreateObject::new);
+        register(25, PacketEntitySpawn.class, PacketEntitySpawn::new);
+        register(26, PacketEntityMove.class, PacketEntityMove::new);
+        register(27, PacketCharacterSpawn.class, PacketCharacterSpawn::new);
+        register(28, PacketControlPressed.class, PacketControlPressed::new);
+        register(29, PacketControlReleased.class, PacketControlReleased::new);
+        register(30, PacketRequestChannels.class, buf -> new PacketRequestChannels());
+        register(31, PacketSendChannel.class, PacketSendChannel::new);
+        register(32, PacketSetChannel.class, PacketSetChannel::new);
+        register(33, PacketServerboundGlobalChatMessage.class, PacketServerboundGlobalChatMessage::new);
+        register(34, PacketClientboundGlobalChatMessage.class, PacketClientboundGlobalChatMessage::new);
+        register(35, PacketServerboundLocalChatMessage.class, PacketServerboundLocalChatMessage::new);
+        register(36, PacketClientboundLocalChatMessage.class, PacketClientboundLocalChatMessage::new);
+        register(37, PacketRequestAssets.class, PacketRequestAssets::new);
+        register(38, PacketSendAsset.class, PacketSendAsset::new);
+        register(39, PacketSendSpriteSet.class, PacketSendSpriteSet::new);
+        register(40, PacketSendAreaChunk.class, PacketSendAreaChunk::new);
+    }
+
+    private PacketRegistry() {}
+
+    private static <T extends Packet> void register(int id, Class<T> packetClass, Function<ByteBuf, T> reader) {
+        ids.put(packetClass, id);
+        readers.put(id, reader);
+    }
+
+    public static int getId(Packet packet) {
+        Integer id = ids.get(packet.getClass());
+        if (id == null) throw new IllegalArgumentException("Unregistered packet: " + packet.getClass().getName());
+        return id;
+    }
+
+    public static Packet read(int id, ByteBuf buf) {
+        Function<ByteBuf, ? extends Packet> reader = readers.get(id);
+        if (reader == null) throw new CorruptedFrameException("Unknown packet id: " + id);
+        return reader.apply(buf);
+    }
+
+}
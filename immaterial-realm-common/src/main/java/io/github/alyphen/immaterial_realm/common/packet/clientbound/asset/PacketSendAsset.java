@@ -0,0 +1,37 @@
+package io.github.alyphen.immaterial_realm.common.packet.clientbound.asset;
+
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+
+public class PacketSendAsset extends Packet {
+
+    private String hash;
+    private byte[] data;
+
+    public PacketSendAsset(String hash, byte[] data) {
+        this.hash = hash;
+        this.data = data;
+    }
+
+    public PacketSendAsset(ByteBuf buf) {
+        hash = readString(buf);
+        data = readByteArray(buf);
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, hash);
+        writeByteArray(buf, data);
+    }
+
+}
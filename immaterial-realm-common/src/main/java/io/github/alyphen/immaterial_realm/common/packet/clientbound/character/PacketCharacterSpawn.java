@@ -2,12 +2,13 @@ package io.github.alyphen.immaterial_realm.common.packet.clientbound.character;
 
 import io.github.alyphen.immaterial_realm.common.character.Character;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
-import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.netty.buffer.ByteBuf;
 
-import java.io.IOException;
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketCharacterSpawn extends Packet {
 
+    private long entityId;
     private long id;
     private long playerId;
     private String name;
@@ -19,16 +20,10 @@ public class PacketCharacterSpawn extends Packet {
     private String areaName;
     private int x;
     private int y;
-    private byte[][] walkUpSprite;
-    private int walkUpFrameDelay;
-    private byte[][] walkLeftSprite;
-    private int walkLeftFrameDelay;
-    private byte[][] walkRightSprite;
-    private int walkRightFrameDelay;
-    private byte[][] walkDownSprite;
-    private int walkDownFrameDelay;
-
-    public PacketCharacterSpawn(Character character, Sprite walkUpSprite, Sprite walkDownSprite, Sprite walkLeftSprite, Sprite walkRightSprite) throws IOException {
+    private int spriteSetId;
+
+    public PacketCharacterSpawn(long entityId, Character character, int spriteSetId) {
+        this.entityId = entityId;
         this.id = character.getId();
         this.playerId = character.getPlayerId();
         this.name = character.getName();
@@ -40,14 +35,27 @@ public class PacketCharacterSpawn extends Packet {
         this.areaName = character.getAreaName();
         this.x = character.getX();
         this.y = character.getY();
-        this.walkUpSprite = walkUpSprite.toByteArray();
-        this.walkUpFrameDelay = walkUpSprite.getFrameDelay();
-        this.walkDownSprite = walkDownSprite.toByteArray();
-        this.walkDownFrameDelay = walkDownSprite.getFrameDelay();
-        this.walkLeftSprite = walkLeftSprite.toByteArray();
-        this.walkLeftFrameDelay = walkLeftSprite.getFrameDelay();
-        this.walkRightSprite = walkRightSprite.toByteArray();
-        this.walkRightFrameDelay = walkRightSprite.getFrameDelay();
+        this.spriteSetId = spriteSetId;
+    }
+
+    public PacketCharacterSpawn(ByteBuf buf) {
+        entityId = readVarLong(buf);
+        id = readVarLong(buf);
+        playerId = readVarLong(buf);
+        name = readString(buf);
+        gender = readString(buf);
+        race = readString(buf);
+        description = readString(buf);
+        dead = buf.readBoolean();
+        active = buf.readBoolean();
+        areaName = readString(buf);
+        x = readSignedVarInt(buf);
+        y = readSignedVarInt(buf);
+        spriteSetId = readVarInt(buf);
+    }
+
+    public long getEntityId() {
+        return entityId;
     }
 
     public long getId() {
@@ -94,39 +102,25 @@ public class PacketCharacterSpawn extends Packet {
         return y;
     }
 
-    public Sprite getWalkUpSprite() {
-        try {
-            return Sprite.fromByteArray(walkUpSprite, walkUpFrameDelay);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
-        return null;
-    }
-
-    public Sprite getWalkLeftSprite() {
-        try {
-            return Sprite.fromByteArray(walkLeftSprite, walkLeftFrameDelay);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
-        return null;
+    public int getSpriteSetId() {
+        return spriteSetId;
     }
 
-    public Sprite getWalkRightSprite() {
-        try {
-            return Sprite.fromByteArray(walkRightSprite, walkRightFrameDelay);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
-        return null;
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarLong(buf, entityId);
+        writeVarLong(buf, id);
+        writeVarLong(buf, playerId);
+        writeString(buf, name);
+        writeString(buf, gender);
+        writeString(buf, race);
+        writeString(buf, description);
+        buf.writeBoolean(dead);
+        buf.writeBoolean(active);
+        writeString(buf, areaName);
+        writeSignedVarInt(buf, x);
+        writeSignedVarInt(buf, y);
+        writeVarInt(buf, spriteSetId);
     }
 
-    public Sprite getWalkDownSprite() {
-        try {
-            return Sprite.fromByteArray(walkDownSprite, walkDownFrameDelay);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
-        return null;
-    }
 }
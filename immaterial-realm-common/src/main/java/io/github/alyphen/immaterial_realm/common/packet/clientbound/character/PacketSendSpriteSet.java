@@ -0,0 +1,61 @@
+package io.github.alyphen.immaterial_realm.common.packet.clientbound.character;
+
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+
+public class PacketSendSpriteSet extends Packet {
+
+    private int id;
+    private String walkUpSpriteHash;
+    private String walkDownSpriteHash;
+    private String walkLeftSpriteHash;
+    private String walkRightSpriteHash;
+
+    public PacketSendSpriteSet(int id, String walkUpSpriteHash, String walkDownSpriteHash, String walkLeftSpriteHash, String walkRightSpriteHash) {
+        this.id = id;
+        this.walkUpSpriteHash = walkUpSpriteHash;
+        this.walkDownSpriteHash = walkDownSpriteHash;
+        this.walkLeftSpriteHash = walkLeftSpriteHash;
+        this.walkRightSpriteHash = walkRightSpriteHash;
+    }
+
+    public PacketSendSpriteSet(ByteBuf buf) {
+        id = readVarInt(buf);
+        walkUpSpriteHash = readString(buf);
+        walkDownSpriteHash = readString(buf);
+        walkLeftSpriteHash = readString(buf);
+        walkRightSpriteHash = readString(buf);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getWalkUpSpriteHash() {
+        return walkUpSpriteHash;
+    }
+
+    public String getWalkDownSpriteHash() {
+        return walkDownSpriteHash;
+    }
+
+    public String getWalkLeftSpriteHash() {
+        return walkLeftSpriteHash;
+    }
+
+    public String getWalkRightSpriteHash() {
+        return walkRightSpriteHash;
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarInt(buf, id);
+        writeString(buf, walkUpSpriteHash);
+        writeString(buf, walkDownSpriteHash);
+        writeString(buf, walkLeftSpriteHash);
+        writeString(buf, walkRightSpriteHash);
+    }
+
+}
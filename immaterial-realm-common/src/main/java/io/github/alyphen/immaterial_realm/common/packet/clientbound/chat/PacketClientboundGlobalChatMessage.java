@@ -3,6 +3,9 @@ package io.github.alyphen.immaterial_realm.common.packet.clientbound.chat;
 import io.github.alyphen.immaterial_realm.common.chat.ChatChannel;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
 import io.github.alyphen.immaterial_realm.common.player.Player;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketClientboundGlobalChatMessage extends Packet {
 
@@ -16,6 +19,12 @@ public class PacketClientboundGlobalChatMessage extends Packet {
         this.message = message;
     }
 
+    public PacketClientboundGlobalChatMessage(ByteBuf buf) {
+        playerId = readVarLong(buf);
+        channel = readString(buf);
+        message = readString(buf);
+    }
+
     public long getPlayerId() {
         return playerId;
     }
@@ -28,4 +37,11 @@ public class PacketClientboundGlobalChatMessage extends Packet {
         return message;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarLong(buf, playerId);
+        writeString(buf, channel);
+        writeString(buf, message);
+    }
+
 }
@@ -2,6 +2,9 @@ package io.github.alyphen.immaterial_realm.common.packet.clientbound.chat;
 
 import io.github.alyphen.immaterial_realm.common.character.Character;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketClientboundLocalChatMessage extends Packet {
 
@@ -15,6 +18,12 @@ public class PacketClientboundLocalChatMessage extends Packet {
         this.message = message;
     }
 
+    public PacketClientboundLocalChatMessage(ByteBuf buf) {
+        characterId = readVarLong(buf);
+        channel = readString(buf);
+        message = readString(buf);
+    }
+
     public long getCharacterId() {
         return characterId;
     }
@@ -27,4 +36,11 @@ public class PacketClientboundLocalChatMessage extends Packet {
         return message;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarLong(buf, characterId);
+        writeString(buf, channel);
+        writeString(buf, message);
+    }
+
 }
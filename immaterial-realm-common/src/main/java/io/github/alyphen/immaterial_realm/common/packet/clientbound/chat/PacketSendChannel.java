@@ -2,9 +2,12 @@ package io.github.alyphen.immaterial_realm.common.packet.clientbound.chat;
 
 import io.github.alyphen.immaterial_realm.common.chat.ChatChannel;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
 
 import java.awt.*;
 
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+
 public class PacketSendChannel extends Packet {
 
     private String name;
@@ -23,6 +26,12 @@ public class PacketSendChannel extends Packet {
         this.radius = channel.getRadius();
     }
 
+    public PacketSendChannel(ByteBuf buf) {
+        name = readString(buf);
+        colour = new Color(buf.readInt(), true);
+        radius = readSignedVarInt(buf);
+    }
+
     public String getName() {
         return name;
     }
@@ -35,4 +44,11 @@ public class PacketSendChannel extends Packet {
         return radius;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, name);
+        buf.writeInt(colour.getRGB());
+        writeSignedVarInt(buf, radius);
+    }
+
 }
@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.clientbound.chat;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketSetChannel extends Packet {
 
@@ -10,8 +13,17 @@ public class PacketSetChannel extends Packet {
         this.channel = channel;
     }
 
+    public PacketSetChannel(ByteBuf buf) {
+        channel = readString(buf);
+    }
+
     public String getChannel() {
         return channel;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, channel);
+    }
+
 }
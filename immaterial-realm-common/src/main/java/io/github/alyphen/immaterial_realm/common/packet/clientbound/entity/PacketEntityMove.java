@@ -2,11 +2,14 @@ package io.github.alyphen.immaterial_realm.common.packet.clientbound.entity;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
 import io.github.alyphen.immaterial_realm.common.world.Direction;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketEntityMove extends Packet {
 
     private long entityId;
-    private String directionFacing;
+    private Direction directionFacing;
     private String areaName;
     private int x;
     private int y;
@@ -15,7 +18,7 @@ public class PacketEntityMove extends Packet {
 
     public PacketEntityMove(long entityId, Direction directionFacing, String areaName, int x, int y, int dx, int dy) {
         this.entityId = entityId;
-        this.directionFacing = directionFacing.name();
+        this.directionFacing = directionFacing;
         this.areaName = areaName;
         this.x = x;
         this.y = y;
@@ -23,12 +26,22 @@ public class PacketEntityMove extends Packet {
         this.dy = dy;
     }
 
+    public PacketEntityMove(ByteBuf buf) {
+        entityId = readVarLong(buf);
+        directionFacing = readEnum(buf, Direction.values());
+        areaName = readString(buf);
+        x = readSignedVarInt(buf);
+        y = readSignedVarInt(buf);
+        dx = readSignedVarInt(buf);
+        dy = readSignedVarInt(buf);
+    }
+
     public long getEntityId() {
         return entityId;
     }
 
     public Direction getDirectionFacing() {
-        return Direction.valueOf(directionFacing);
+        return directionFacing;
     }
 
     public String getAreaName() {
@@ -51,4 +64,15 @@ public class PacketEntityMove extends Packet {
         return dy;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarLong(buf, entityId);
+        writeVarInt(buf, directionFacing.ordinal());
+        writeString(buf, areaName);
+        writeSignedVarInt(buf, x);
+        writeSignedVarInt(buf, y);
+        writeSignedVarInt(buf, dx);
+        writeSignedVarInt(buf, dy);
+    }
+
 }
@@ -2,6 +2,10 @@ package io.github.alyphen.immaterial_realm.common.packet.clientbound.entity;
 
 import io.github.alyphen.immaterial_realm.common.entity.Entity;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.CorruptedFrameException;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketEntitySpawn extends Packet {
 
@@ -19,6 +23,14 @@ public class PacketEntitySpawn extends Packet {
         this.y = y;
     }
 
+    public PacketEntitySpawn(ByteBuf buf) {
+        id = readVarLong(buf);
+        entityClass = readEntityClass(readString(buf));
+        areaName = readString(buf);
+        x = readSignedVarInt(buf);
+        y = readSignedVarInt(buf);
+    }
+
     public long getId() {
         return id;
     }
@@ -39,4 +51,21 @@ public class PacketEntitySpawn extends Packet {
         return y;
     }
 
+    private static Class<? extends Entity> readEntityClass(String className) {
+        try {
+            return Class.forName(className, false, Entity.class.getClassLoader()).asSubclass(Entity.class);
+        } catch (ClassNotFoundException | ClassCastException exception) {
+            throw new CorruptedFrameException("Invalid entity class: " + className);
+        }
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarLong(buf, id);
+        writeString(buf, entityClass.getName());
+        writeString(buf, areaName);
+        writeSignedVarInt(buf, x);
+        writeSignedVarInt(buf, y);
+    }
+
 }
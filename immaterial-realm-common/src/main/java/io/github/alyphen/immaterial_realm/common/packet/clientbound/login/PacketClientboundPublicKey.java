@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.clientbound.login;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketClientboundPublicKey extends Packet {
 
@@ -10,8 +13,17 @@ public class PacketClientboundPublicKey extends Packet {
         this.encodedPublicKey = encodedPublicKey;
     }
 
+    public PacketClientboundPublicKey(ByteBuf buf) {
+        encodedPublicKey = readByteArray(buf);
+    }
+
     public byte[] getEncodedPublicKey() {
         return encodedPublicKey;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeByteArray(buf, encodedPublicKey);
+    }
+
 }
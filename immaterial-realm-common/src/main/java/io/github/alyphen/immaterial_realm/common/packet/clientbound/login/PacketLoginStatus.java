@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.clientbound.login;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketLoginStatus extends Packet {
     
@@ -10,8 +13,17 @@ public class PacketLoginStatus extends Packet {
         this.successful = successful;
     }
 
+    public PacketLoginStatus(ByteBuf buf) {
+        successful = buf.readBoolean();
+    }
+
     public boolean isSuccessful() {
         return successful;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        buf.writeBoolean(successful);
+    }
+
 }
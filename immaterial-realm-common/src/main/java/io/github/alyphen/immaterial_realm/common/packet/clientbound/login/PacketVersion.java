@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.clientbound.login;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketVersion extends Packet {
 
@@ -10,8 +13,17 @@ public class PacketVersion extends Packet {
         this.version = version;
     }
 
+    public PacketVersion(ByteBuf buf) {
+        version = readString(buf);
+    }
+
     public String getVersion() {
         return version;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, version);
+    }
+
 }
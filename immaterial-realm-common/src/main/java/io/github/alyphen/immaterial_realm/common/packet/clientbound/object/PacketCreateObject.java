@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.clientbound.object;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketCreateObject extends Packet {
 
@@ -18,6 +21,14 @@ public class PacketCreateObject extends Packet {
         this.y = y;
     }
 
+    public PacketCreateObject(ByteBuf buf) {
+        type = readString(buf);
+        world = readString(buf);
+        area = readString(buf);
+        x = readSignedVarInt(buf);
+        y = readSignedVarInt(buf);
+    }
+
     public String getType() {
         return type;
     }
@@ -37,4 +48,14 @@ public class PacketCreateObject extends Packet {
     public int getY() {
         return y;
     }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, type);
+        writeString(buf, world);
+        writeString(buf, area);
+        writeSignedVarInt(buf, x);
+        writeSignedVarInt(buf, y);
+    }
+
 }
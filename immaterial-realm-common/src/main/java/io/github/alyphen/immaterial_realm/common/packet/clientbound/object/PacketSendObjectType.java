@@ -2,42 +2,50 @@ package io.github.alyphen.immaterial_realm.common.packet.clientbound.object;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
 import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.netty.buffer.ByteBuf;
 
 import java.awt.*;
-import java.io.IOException;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketSendObjectType extends Packet {
 
     private String name;
-    private byte[][] sprite;
-    private int frameDelay;
+    private String spriteHash;
     private Rectangle bounds;
 
     public PacketSendObjectType(String name, Sprite sprite, Rectangle bounds) {
         this.name = name;
-        try {
-            this.sprite = sprite.toByteArray();
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
-        this.frameDelay = sprite.getFrameDelay();
+        this.spriteHash = sprite.getHash();
         this.bounds = bounds;
     }
 
+    public PacketSendObjectType(ByteBuf buf) {
+        name = readString(buf);
+        spriteHash = readString(buf);
+        bounds = new Rectangle(readSignedVarInt(buf), readSignedVarInt(buf), readSignedVarInt(buf), readSignedVarInt(buf));
+    }
+
     public String getName() {
         return name;
     }
 
-    public Sprite getSprite() {
-        try {
-            return Sprite.fromByteArray(sprite, frameDelay);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
-        return null;
+    public String getSpriteHash() {
+        return spriteHash;
     }
 
     public Rectangle getBounds() {
         return bounds;
     }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, name);
+        writeString(buf, spriteHash);
+        writeSignedVarInt(buf, bounds.x);
+        writeSignedVarInt(buf, bounds.y);
+        writeSignedVarInt(buf, bounds.width);
+        writeSignedVarInt(buf, bounds.height);
+    }
+
 }
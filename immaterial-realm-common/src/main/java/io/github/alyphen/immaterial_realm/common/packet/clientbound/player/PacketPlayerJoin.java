@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.clientbound.player;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketPlayerJoin extends Packet {
 
@@ -12,6 +15,11 @@ public class PacketPlayerJoin extends Packet {
         this.playerName = playerName;
     }
 
+    public PacketPlayerJoin(ByteBuf buf) {
+        playerId = readVarLong(buf);
+        playerName = readString(buf);
+    }
+
     public long getPlayerId() {
         return playerId;
     }
@@ -19,4 +27,11 @@ public class PacketPlayerJoin extends Packet {
     public String getPlayerName() {
         return playerName;
     }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarLong(buf, playerId);
+        writeString(buf, playerName);
+    }
+
 }
@@ -1,6 +1,11 @@
 package io.github.alyphen.immaterial_realm.common.packet.clientbound.player;
 
-public class PacketPlayerLeave {
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+
+public class PacketPlayerLeave extends Packet {
 
     private long playerId;
 
@@ -8,8 +13,17 @@ public class PacketPlayerLeave {
         this.playerId = playerId;
     }
 
+    public PacketPlayerLeave(ByteBuf buf) {
+        playerId = readVarLong(buf);
+    }
+
     public long getPlayerId() {
         return playerId;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarLong(buf, playerId);
+    }
+
 }
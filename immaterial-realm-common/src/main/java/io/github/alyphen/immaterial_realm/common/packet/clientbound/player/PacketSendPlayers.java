@@ -2,12 +2,15 @@ package io.github.alyphen.immaterial_realm.common.packet.clientbound.player;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
 import io.github.alyphen.immaterial_realm.common.player.Player;
+import io.netty.buffer.ByteBuf;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+
 public class PacketSendPlayers extends Packet {
 
     private Map<Long, String> players;
@@ -19,8 +22,25 @@ public class PacketSendPlayers extends Packet {
         }
     }
 
+    public PacketSendPlayers(ByteBuf buf) {
+        int size = readCount(buf);
+        players = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            players.put(readVarLong(buf), readString(buf));
+        }
+    }
+
     public Set<Player> getPlayers() {
         return this.players.entrySet().stream().map(entry -> new Player(entry.getKey(), entry.getValue())).collect(Collectors.toSet());
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarInt(buf, players.size());
+        for (Map.Entry<Long, String> entry : players.entrySet()) {
+            writeVarLong(buf, entry.getKey());
+            writeString(buf, entry.getValue());
+        }
+    }
+
 }
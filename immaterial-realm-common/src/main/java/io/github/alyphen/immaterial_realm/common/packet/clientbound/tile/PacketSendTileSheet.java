@@ -1,40 +1,42 @@
 package io.github.alyphen.immaterial_realm.common.packet.clientbound.tile;
 
-import io.github.alyphen.immaterial_realm.common.util.ImageUtils;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+import io.netty.buffer.ByteBuf;
 
-import java.awt.image.BufferedImage;
-import java.io.IOException;
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketSendTileSheet extends Packet {
 
     private String name;
-    private byte[] image;
+    private String hash;
     private int tileWidth;
     private int tileHeight;
 
-    public PacketSendTileSheet(String name, BufferedImage image, int tileWidth, int tileHeight) {
+    public PacketSendTileSheet(TileSheet tileSheet) {
+        this(tileSheet.getName(), tileSheet.getHash(), tileSheet.getTileWidth(), tileSheet.getTileHeight());
+    }
+
+    public PacketSendTileSheet(String name, String hash, int tileWidth, int tileHeight) {
         this.name = name;
-        try {
-            this.image = ImageUtils.toByteArray(image);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
+        this.hash = hash;
         this.tileWidth = tileWidth;
         this.tileHeight = tileHeight;
     }
 
+    public PacketSendTileSheet(ByteBuf buf) {
+        name = readString(buf);
+        hash = readString(buf);
+        tileWidth = readSignedVarInt(buf);
+        tileHeight = readSignedVarInt(buf);
+    }
+
     public String getName() {
         return name;
     }
 
-    public BufferedImage getImage() {
-        try {
-            return ImageUtils.fromByteArray(image);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
-        return null;
+    public String getHash() {
+        return hash;
     }
 
     public int getTileWidth() {
@@ -45,4 +47,12 @@ public class PacketSendTileSheet extends Packet {
         return tileHeight;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, name);
+        writeString(buf, hash);
+        writeSignedVarInt(buf, tileWidth);
+        writeSignedVarInt(buf, tileHeight);
+    }
+
 }
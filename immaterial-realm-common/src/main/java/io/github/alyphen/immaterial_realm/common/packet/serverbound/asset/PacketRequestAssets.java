@@ -0,0 +1,37 @@
+package io.github.alyphen.immaterial_realm.common.packet.serverbound.asset;
+
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import java.util.Collection;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+
+public class PacketRequestAssets extends Packet {
+
+    private String[] hashes;
+
+    public PacketRequestAssets(Collection<String> hashes) {
+        this.hashes = hashes.toArray(new String[hashes.size()]);
+    }
+
+    public PacketRequestAssets(ByteBuf buf) {
+        hashes = new String[readCount(buf)];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = readString(buf);
+        }
+    }
+
+    public String[] getHashes() {
+        return hashes;
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarInt(buf, hashes.length);
+        for (String hash : hashes) {
+            writeString(buf, hash);
+        }
+    }
+
+}
@@ -2,6 +2,9 @@ package io.github.alyphen.immaterial_realm.common.packet.serverbound.chat;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
 import io.github.alyphen.immaterial_realm.common.player.Player;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketServerboundGlobalChatMessage extends Packet {
 
@@ -13,6 +16,11 @@ public class PacketServerboundGlobalChatMessage extends Packet {
         this.message = message;
     }
 
+    public PacketServerboundGlobalChatMessage(ByteBuf buf) {
+        channel = readString(buf);
+        message = readString(buf);
+    }
+
     public String getChannel() {
         return channel;
     }
@@ -21,4 +29,10 @@ public class PacketServerboundGlobalChatMessage extends Packet {
         return message;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, channel);
+        writeString(buf, message);
+    }
+
 }
@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.serverbound.chat;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketServerboundLocalChatMessage extends Packet {
 
@@ -12,6 +15,11 @@ public class PacketServerboundLocalChatMessage extends Packet {
         this.message = message;
     }
 
+    public PacketServerboundLocalChatMessage(ByteBuf buf) {
+        channel = readString(buf);
+        message = readString(buf);
+    }
+
     public String getChannel() {
         return channel;
     }
@@ -20,4 +28,10 @@ public class PacketServerboundLocalChatMessage extends Packet {
         return message;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, channel);
+        writeString(buf, message);
+    }
+
 }
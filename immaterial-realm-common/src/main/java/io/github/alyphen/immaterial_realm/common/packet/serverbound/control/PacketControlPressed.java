@@ -2,17 +2,29 @@ package io.github.alyphen.immaterial_realm.common.packet.serverbound.control;
 
 import io.github.alyphen.immaterial_realm.common.control.Control;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketControlPressed extends Packet {
 
-    private String control;
+    private Control control;
 
     public PacketControlPressed(Control control) {
-        this.control = control.name();
+        this.control = control;
+    }
+
+    public PacketControlPressed(ByteBuf buf) {
+        control = readEnum(buf, Control.values());
     }
 
     public Control getControl() {
-        return Control.valueOf(control);
+        return control;
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeVarInt(buf, control.ordinal());
     }
 
 }
@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.serverbound.login;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketLoginDetails extends Packet {
 
@@ -14,6 +17,12 @@ public class PacketLoginDetails extends Packet {
         this.signUp = signUp;
     }
 
+    public PacketLoginDetails(ByteBuf buf) {
+        playerName = readString(buf);
+        encryptedPassword = readByteArray(buf);
+        signUp = buf.readBoolean();
+    }
+
     public String getPlayerName() {
         return playerName;
     }
@@ -25,4 +34,12 @@ public class PacketLoginDetails extends Packet {
     public boolean isSignUp() {
         return signUp;
     }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, playerName);
+        writeByteArray(buf, encryptedPassword);
+        buf.writeBoolean(signUp);
+    }
+
 }
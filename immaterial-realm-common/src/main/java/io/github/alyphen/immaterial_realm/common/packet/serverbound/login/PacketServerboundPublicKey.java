@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.serverbound.login;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketServerboundPublicKey extends Packet {
 
@@ -10,8 +13,17 @@ public class PacketServerboundPublicKey extends Packet {
         this.encodedPublicKey = encodedPublicKey;
     }
 
+    public PacketServerboundPublicKey(ByteBuf buf) {
+        encodedPublicKey = readByteArray(buf);
+    }
+
     public byte[] getEncodedPublicKey() {
         return encodedPublicKey;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeByteArray(buf, encodedPublicKey);
+    }
+
 }
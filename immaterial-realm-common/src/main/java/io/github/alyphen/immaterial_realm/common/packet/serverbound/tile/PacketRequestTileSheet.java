@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.serverbound.tile;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketRequestTileSheet extends Packet {
 
@@ -10,8 +13,17 @@ public class PacketRequestTileSheet extends Packet {
         this.name = name;
     }
 
+    public PacketRequestTileSheet(ByteBuf buf) {
+        name = readString(buf);
+    }
+
     public String getName() {
         return name;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, name);
+    }
+
 }
@@ -1,6 +1,11 @@
 package io.github.alyphen.immaterial_realm.common.packet.world;
 
-public class PacketRequestObjects {
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+
+public class PacketRequestObjects extends Packet {
 
     private String world;
     private String area;
@@ -10,6 +15,11 @@ public class PacketRequestObjects {
         this.area = area;
     }
 
+    public PacketRequestObjects(ByteBuf buf) {
+        world = readString(buf);
+        area = readString(buf);
+    }
+
     public String getWorld() {
         return world;
     }
@@ -18,4 +28,10 @@ public class PacketRequestObjects {
         return area;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, world);
+        writeString(buf, area);
+    }
+
 }
@@ -1,6 +1,11 @@
 package io.github.alyphen.immaterial_realm.common.packet.world;
 
-public class PacketRequestWorldArea {
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+
+public class PacketRequestWorldArea extends Packet {
 
     private String world;
     private String area;
@@ -10,6 +15,11 @@ public class PacketRequestWorldArea {
         this.area = area;
     }
 
+    public PacketRequestWorldArea(ByteBuf buf) {
+        world = readString(buf);
+        area = readString(buf);
+    }
+
     public String getWorld() {
         return world;
     }
@@ -18,4 +28,10 @@ public class PacketRequestWorldArea {
         return area;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, world);
+        writeString(buf, area);
+    }
+
 }
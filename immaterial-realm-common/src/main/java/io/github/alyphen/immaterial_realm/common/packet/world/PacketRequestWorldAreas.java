@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.world;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketRequestWorldAreas extends Packet {
 
@@ -10,8 +13,17 @@ public class PacketRequestWorldAreas extends Packet {
         this.world = world;
     }
 
+    public PacketRequestWorldAreas(ByteBuf buf) {
+        world = readString(buf);
+    }
+
     public String getWorld() {
         return world;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, world);
+    }
+
 }
@@ -1,14 +1,10 @@
 package io.github.alyphen.immaterial_realm.common.packet.world;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
-import io.github.alyphen.immaterial_realm.common.tile.Tile;
-import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
 import io.github.alyphen.immaterial_realm.common.world.WorldArea;
+import io.netty.buffer.ByteBuf;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketSendArea extends Packet {
 
@@ -16,24 +12,19 @@ public class PacketSendArea extends Packet {
     private String area;
     private int rows;
     private int cols;
-    private List<List<Map<String, Object>>> tiles;
 
     public PacketSendArea(WorldArea area) {
         this.world = area.getWorld().getName();
         this.area = area.getName();
         this.rows = area.getRows();
         this.cols = area.getColumns();
-        tiles = new ArrayList<>();
-        for (int row = 0; row < area.getRows(); row++) {
-            tiles.add(new ArrayList<>());
-            for (int col = 0; col < area.getColumns(); col++) {
-                Map<String, Object> tileMeta = new HashMap<>();
-                tileMeta.put("sheet", area.getTileAt(row, col).getSheet().getName());
-                tileMeta.put("row", area.getTileAt(row, col).getRow());
-                tileMeta.put("col", area.getTileAt(row, col).getColumn());
-                tiles.get(row).add(tileMeta);
-            }
-        }
+    }
+
+    public PacketSendArea(ByteBuf buf) {
+        world = readString(buf);
+        area = readString(buf);
+        rows = readVarInt(buf);
+        cols = readVarInt(buf);
     }
 
     public String getWorld() {
@@ -52,9 +43,12 @@ public class PacketSendArea extends Packet {
         return cols;
     }
 
-    public Tile getTileAt(int row, int col) {
-        Map<String, Object> tileMeta = tiles.get(row).get(col);
-        return TileSheet.getTileSheet((String) tileMeta.get("sheet")).getTile((int) tileMeta.get("row"), (int) tileMeta.get("col"));
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, world);
+        writeString(buf, area);
+        writeVarInt(buf, rows);
+        writeVarInt(buf, cols);
     }
 
 }
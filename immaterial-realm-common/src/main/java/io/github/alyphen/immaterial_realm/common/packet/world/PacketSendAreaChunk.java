@@ -0,0 +1,230 @@
+package io.github.alyphen.immaterial_realm.common.packet.world;
+
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.github.alyphen.immaterial_realm.common.tile.Tile;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.CorruptedFrameException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+import static io.github.alyphen.immaterial_realm.common.world.WorldArea.CHUNK_SIZE;
+
+public class PacketSendAreaChunk extends Packet {
+
+    private static final int ENCODING_RAW = 0;
+    private static final int ENCODING_DEFLATED = 1;
+    private static final int DEFLATE_THRESHOLD = 256;
+    private static final int MAX_BODY_SIZE = 1 << 20;
+
+    private String world;
+    private String area;
+    private int chunkRow;
+    private int chunkCol;
+    private List<String> paletteSheets;
+    private int[] paletteRows;
+    private int[] paletteCols;
+    private int[] tiles;
+
+    public PacketSendAreaChunk(WorldArea area, int chunkRow, int chunkCol) {
+        this(area.getWorld().getName(), area.getName(), chunkRow, chunkCol, area.getChunkTiles(chunkRow, chunkCol));
+    }
+
+    public PacketSendAreaChunk(String world, String area, int chunkRow, int chunkCol, Tile[] chunkTiles) {
+        this.world = world;
+        this.area = area;
+        this.chunkRow = chunkRow;
+        this.chunkCol = chunkCol;
+        List<Tile> palette = new ArrayList<>();
+        Map<Tile, Integer> paletteIndices = new HashMap<>();
+        palette.add(null);
+        tiles = new int[CHUNK_SIZE * CHUNK_SIZE];
+        for (int i = 0; i < chunkTiles.length; i++) {
+            Tile tile = chunkTiles[i];
+            if (tile == null) continue;
+            Integer index = paletteIndices.get(tile);
+            if (index == null) {
+                index = palette.size();
+                palette.add(tile);
+                paletteIndices.put(tile, index);
+            }
+            tiles[i] = index;
+        }
+        paletteSheets = new ArrayList<>();
+        paletteRows = new int[palette.size()];
+        paletteCols = new int[palette.size()];
+        paletteSheets.add(null);
+        for (int i = 1; i < palette.size(); i++) {
+            paletteSheets.add(palette.get(i).getSheet().getName());
+            paletteRows[i] = palette.get(i).getRow();
+            paletteCols[i] = palette.get(i).getColumn();
+        }
+    }
+
+    public PacketSendAreaChunk(ByteBuf buf) {
+        world = readString(buf);
+        area = readString(buf);
+        chunkRow = readVarInt(buf);
+        chunkCol = readVarInt(buf);
+        int encoding = buf.readUnsignedByte();
+        if (encoding == ENCODING_DEFLATED) {
+            int length = readVarInt(buf);
+            if (length < 0 || length > MAX_BODY_SIZE) throw new CorruptedFrameException("Invalid chunk size " + length);
+            ByteBuf body = Unpooled.wrappedBuffer(inflate(readByteArray(buf), length));
+            try {
+                readBody(body);
+            } finally {
+                body.release();
+            }
+        } else if (encoding == ENCODING_RAW) {
+            readBody(buf);
+        } else {
+            throw new CorruptedFrameException("Unknown chunk encoding " + encoding);
+        }
+    }
+
+    private void readBody(ByteBuf buf) {
+        int paletteSize = readVarInt(buf);
+        if (paletteSize < 0 || paletteSize > buf.readableBytes()) throw new CorruptedFrameException("Invalid chunk palette size");
+        paletteSheets = new ArrayList<>();
+        paletteRows = new int[paletteSize + 1];
+        paletteCols = new int[paletteSize + 1];
+        paletteSheets.add(null);
+        for (int i = 1; i <= paletteSize; i++) {
+            paletteSheets.add(readString(buf));
+            paletteRows[i] = readVarInt(buf);
+            paletteCols[i] = readVarInt(buf);
+        }
+        tiles = new int[CHUNK_SIZE * CHUNK_SIZE];
+        int cell = 0;
+        while (cell < tiles.length) {
+            int run = readVarInt(buf);
+            int index = readVarInt(buf);
+            if (run <= 0 || run > tiles.length - cell) throw new CorruptedFrameException("Invalid chunk run length " + run);
+            if (index < 0 || index > paletteSize) throw new CorruptedFrameException("Invalid chunk palette index " + index);
+            Arrays.fill(tiles, cell, cell + run, index);
+            cell += run;
+        }
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public int getChunkRow() {
+        return chunkRow;
+    }
+
+    public int getChunkColumn() {
+        return chunkCol;
+    }
+
+    public Tile[] getTiles() {
+        Tile[] palette = new Tile[paletteSheets.size()];
+        for (int i = 1; i < palette.length; i++) {
+            palette[i] = TileSheet.getTileSheet(paletteSheets.get(i)).getTile(paletteRows[i], paletteCols[i]);
+        }
+        Tile[] chunkTiles = new Tile[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            chunkTiles[i] = palette[tiles[i]];
+        }
+        return chunkTiles;
+    }
+
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, world);
+        writeString(buf, area);
+        writeVarInt(buf, chunkRow);
+        writeVarInt(buf, chunkCol);
+        ByteBuf body = Unpooled.buffer();
+        try {
+            writeBody(body);
+            if (body.readableBytes() >= DEFLATE_THRESHOLD) {
+                byte[] deflated = deflate(body);
+                if (deflated.length < body.readableBytes()) {
+                    buf.writeByte(ENCODING_DEFLATED);
+                    writeVarInt(buf, body.readableBytes());
+                    writeByteArray(buf, deflated);
+                    return;
+                }
+            }
+            buf.writeByte(ENCODING_RAW);
+            buf.writeBytes(body);
+        } finally {
+            body.release();
+        }
+    }
+
+    private void writeBody(ByteBuf buf) {
+        writeVarInt(buf, paletteSheets.size() - 1);
+        for (int i = 1; i < paletteSheets.size(); i++) {
+            writeString(buf, paletteSheets.get(i));
+            writeVarInt(buf, paletteRows[i]);
+            writeVarInt(buf, paletteCols[i]);
+        }
+        int cell = 0;
+        while (cell < tiles.length) {
+            int run = 1;
+            while (cell + run < tiles.length && tiles[cell + run] == tiles[cell]) run++;
+            writeVarInt(buf, run);
+            writeVarInt(buf, tiles[cell]);
+            cell += run;
+        }
+    }
+
+    private static byte[] deflate(ByteBuf body) {
+        byte[] input = new byte[body.readableBytes()];
+        body.getBytes(body.readerIndex(), input);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(input.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int length) {
+        if (input == null) throw new CorruptedFrameException("Missing chunk data");
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[length];
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int count = inflater.inflate(output, inflated, length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                inflated += count;
+            }
+            if (inflated != length || !inflater.finished()) throw new CorruptedFrameException("Chunk data does not match its declared size");
+            return output;
+        } catch (DataFormatException exception) {
+            throw new CorruptedFrameException("Invalid chunk data", exception);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.world;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketSendWorld extends Packet {
 
@@ -10,8 +13,17 @@ public class PacketSendWorld extends Packet {
         this.name = name;
     }
 
+    public PacketSendWorld(ByteBuf buf) {
+        name = readString(buf);
+    }
+
     public String getName() {
         return name;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, name);
+    }
+
 }
@@ -1,6 +1,9 @@
 package io.github.alyphen.immaterial_realm.common.packet.world;
 
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.buffer.ByteBuf;
+
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
 
 public class PacketShowArea extends Packet {
 
@@ -10,8 +13,17 @@ public class PacketShowArea extends Packet {
         this.area = area;
     }
 
+    public PacketShowArea(ByteBuf buf) {
+        area = readString(buf);
+    }
+
     public String getArea() {
         return area;
     }
 
+    @Override
+    public void write(ByteBuf buf) {
+        writeString(buf, area);
+    }
+
 }
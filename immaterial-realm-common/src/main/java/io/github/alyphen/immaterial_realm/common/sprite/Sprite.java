@@ -1,18 +1,32 @@
 package io.github.alyphen.immaterial_realm.common.sprite;
 
+import io.github.alyphen.immaterial_realm.common.util.AssetMode;
 import io.github.alyphen.immaterial_realm.common.util.FileUtils;
 import io.github.alyphen.immaterial_realm.common.util.ImageUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.CorruptedFrameException;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.Map;
 
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
+
 public class Sprite {
 
     private BufferedImage[] frames;
+    private byte[] encodedSheet;
+    private String hash;
+    private int frameCount;
+    private int width;
+    private int height;
     private int index;
     private int frameDelay;
     private int tick;
@@ -20,62 +34,125 @@ public class Sprite {
     public Sprite(int frameDelay, BufferedImage... frames) {
         this.frameDelay = frameDelay;
         this.frames = frames;
+        this.frameCount = frames.length;
+        this.width = -1;
+        this.height = -1;
+        for (BufferedImage frame : frames) {
+            if (frame.getWidth() > width) width = frame.getWidth();
+            if (frame.getHeight() > height) height = frame.getHeight();
+        }
+    }
+
+    private Sprite(byte[] encodedSheet, int frameCount, int frameDelay, int width, int height) {
+        this.encodedSheet = encodedSheet;
+        this.frameCount = frameCount;
+        this.frameDelay = frameDelay;
+        this.width = width;
+        this.height = height;
+    }
+
+    public Sprite copy() {
+        Sprite copy = new Sprite(encodedSheet, frameCount, frameDelay, width, height);
+        copy.frames = getFrames();
+        copy.hash = hash;
+        return copy;
     }
 
     public void onTick() {
+        if (AssetMode.isHeadless()) return;
         tick = tick == frameDelay - 1 ? 0 : tick + 1;
-        if (tick == 0) index = index == frames.length - 1 ? 0 : index + 1;
+        if (tick == 0) index = index == frameCount - 1 ? 0 : index + 1;
     }
 
     public void paint(Graphics graphics) {
-        graphics.drawImage(frames[index], 0, 0, null);
+        BufferedImage[] frames = getFrames();
+        if (index < frames.length) graphics.drawImage(frames[index], 0, 0, null);
     }
 
     public BufferedImage[] getFrames() {
+        if (frames == null) {
+            try {
+                frames = fromImage(ImageUtils.fromByteArray(encodedSheet), frameCount, frameDelay, width, height).frames;
+            } catch (IOException exception) {
+                exception.printStackTrace();
+                frames = new BufferedImage[0];
+            }
+        }
         return frames;
     }
 
+    public int getFrameCount() {
+        return frameCount;
+    }
+
     public int getFrameDelay() {
         return frameDelay;
     }
 
     public int getWidth() {
-        int max = -1;
-        for (BufferedImage frame : getFrames()) {
-            if (frame.getWidth() > max) max = frame.getWidth();
-        }
-        return max;
+        return width;
     }
 
     public int getHeight() {
-        int max = -1;
-        for (BufferedImage frame : getFrames()) {
-            if (frame.getHeight() > max) max = frame.getHeight();
+        return height;
+    }
+
+    public byte[] getEncodedSheet() throws IOException {
+        if (encodedSheet == null) {
+            encodedSheet = ImageUtils.toByteArray(toSheetImage());
         }
-        return max;
+        return encodedSheet;
     }
 
     public void flush() {
+        if (frames == null) return;
         for (BufferedImage frame : frames) {
             frame.flush();
         }
     }
 
-    public static Sprite fromByteArray(byte[][] byteArray, int frameDelay) throws IOException {
-        BufferedImage[] frames = new BufferedImage[byteArray.length];
-        for (int i = 0; i < byteArray.length; i++) {
-            frames[i] = ImageUtils.fromByteArray(byteArray[i]);
+    public void write(ByteBuf buf) {
+        try {
+            writeByteArray(buf, getEncodedSheet());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
         }
-        return new Sprite(frameDelay, frames);
+        writeVarInt(buf, frameCount);
+        writeVarInt(buf, frameDelay);
+        writeVarInt(buf, width);
+        writeVarInt(buf, height);
     }
 
-    public byte[][] toByteArray() throws IOException {
-        BufferedImage[] frames = getFrames();
-        byte[][] byteArray = new byte[frames.length][];
-        for (int i = 0; i < frames.length; i++) {
-            byteArray[i] = ImageUtils.toByteArray(frames[i]);
+    public byte[] toByteArray() {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            write(buf);
+            byte[] byteArray = new byte[buf.readableBytes()];
+            buf.readBytes(byteArray);
+            return byteArray;
+        } finally {
+            buf.release();
+        }
+    }
+
+    public String getHash() {
+        if (hash == null) {
+            hash = sha256Hex(toByteArray());
         }
-        return byteArray;
+        return hash;
+    }
+
+    public static Sprite fromByteArray(byte[] byteArray) {
+        ByteBuf buf = Unpooled.wrappedBuffer(byteArray);
+        Sprite sprite = read(buf);
+        if (buf.isReadable()) throw new CorruptedFrameException("Trailing bytes after sprite");
+        return sprite;
+    }
+
+    public static Sprite read(ByteBuf buf) {
+        byte[] encodedSheet = readByteArray(buf);
+        if (encodedSheet == null) throw new CorruptedFrameException("Missing sprite sheet");
+        return new Sprite(encodedSheet, readVarInt(buf), readVarInt(buf), readVarInt(buf), readVarInt(buf));
     }
 
     public void save(File file) throws IOException {
@@ -86,7 +163,7 @@ public class Sprite {
         File metadataFile = new File(directory, "sprite.json");
         Map<String, Object> metadata = FileUtils.loadMetadata(metadataFile);
         File imageFile = new File(directory, "sprite.png");
-        return fromImage(ImageIO.read(imageFile), (int) ((double) metadata.get("frame_amount")), (int) ((double) metadata.get("frame_delay")), (int) ((double) metadata.get("width")), (int) ((double) metadata.get("height")));
+        return new Sprite(Files.readAllBytes(imageFile.toPath()), (int) ((double) metadata.get("frame_amount")), (int) ((double) metadata.get("frame_delay")), (int) ((double) metadata.get("width")), (int) ((double) metadata.get("height")));
     }
 
     public BufferedImage toImage(Sprite sprite) {
@@ -105,6 +182,17 @@ public class Sprite {
         return spriteSheet;
     }
 
+    private BufferedImage toSheetImage() {
+        BufferedImage[] frames = getFrames();
+        BufferedImage spriteSheet = new BufferedImage(Math.max(1, getWidth() * frames.length), Math.max(1, getHeight()), BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = spriteSheet.createGraphics();
+        for (int i = 0; i < frames.length; i++) {
+            graphics.drawImage(frames[i], i * getWidth(), 0, null);
+        }
+        graphics.dispose();
+        return spriteSheet;
+    }
+
     public static Sprite fromImage(BufferedImage image, int frameAmount, int frameDelay, int width, int height) {
         BufferedImage[] frames = new BufferedImage[frameAmount];
         for (int i = 0; i < frameAmount; i++) {
@@ -0,0 +1,53 @@
+package io.github.alyphen.immaterial_realm.common.tick;
+
+public class TickTimeout {
+
+    private final Runnable task;
+    private final long period;
+    private long deadline;
+    private boolean cancelled;
+    private boolean expired;
+
+    TickTimeout(Runnable task, long deadline, long period) {
+        this.task = task;
+        this.deadline = deadline;
+        this.period = period;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    public long getPeriod() {
+        return period;
+    }
+
+    public boolean isRepeating() {
+        return period > 0;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+
+    void setExpired(boolean expired) {
+        this.expired = expired;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    void run() {
+        task.run();
+    }
+
+}
@@ -0,0 +1,90 @@
+package io.github.alyphen.immaterial_realm.common.tick;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TickTimer {
+
+    private static final int DEFAULT_WHEEL_SIZE = 256;
+
+    private final List<TickTimeout>[] wheel;
+    private final int mask;
+    private long currentTick;
+    private int pendingTimeouts;
+
+    public TickTimer() {
+        this(DEFAULT_WHEEL_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TickTimer(int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        mask = size - 1;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int getPendingTimeouts() {
+        return pendingTimeouts;
+    }
+
+    public TickTimeout schedule(Runnable task, long delay) {
+        return add(new TickTimeout(task, currentTick + Math.max(1, delay), 0));
+    }
+
+    public TickTimeout scheduleRepeating(Runnable task, long delay, long period) {
+        if (period <= 0) throw new IllegalArgumentException("Period must be positive: " + period);
+        return add(new TickTimeout(task, currentTick + Math.max(1, delay), period));
+    }
+
+    public void tick() {
+        currentTick++;
+        List<TickTimeout> bucket = wheel[(int) (currentTick & mask)];
+        int size = bucket.size();
+        if (size == 0) return;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            TickTimeout timeout = bucket.get(i);
+            if (timeout.isCancelled()) {
+                pendingTimeouts--;
+            } else if (timeout.getDeadline() <= currentTick) {
+                pendingTimeouts--;
+                fire(timeout);
+            } else {
+                bucket.set(kept++, timeout);
+            }
+        }
+        // Timeouts scheduled by the tasks above may have landed in this bucket
+        for (int i = size; i < bucket.size(); i++) {
+            bucket.set(kept++, bucket.get(i));
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    private TickTimeout add(TickTimeout timeout) {
+        wheel[(int) (timeout.getDeadline() & mask)].add(timeout);
+        pendingTimeouts++;
+        return timeout;
+    }
+
+    private void fire(TickTimeout timeout) {
+        try {
+            timeout.run();
+        } catch (RuntimeException exception) {
+            exception.printStackTrace();
+        }
+        if (timeout.isRepeating() && !timeout.isCancelled()) {
+            timeout.setDeadline(timeout.getDeadline() + timeout.getPeriod());
+            add(timeout);
+        } else {
+            timeout.setExpired(true);
+        }
+    }
+
+}
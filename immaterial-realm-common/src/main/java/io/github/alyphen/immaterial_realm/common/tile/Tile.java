@@ -14,7 +14,6 @@ public class Tile {
         this.sheet = sheet;
         this.row = row;
         this.col = col;
-        image = sheet.getSheet().getSubimage(col * sheet.getTileWidth(), row * sheet.getTileHeight(), sheet.getTileWidth(), sheet.getTileHeight());
     }
 
     public TileSheet getSheet() {
@@ -37,8 +36,15 @@ public class Tile {
         return getSheet().getTileHeight();
     }
 
+    public BufferedImage getImage() {
+        if (image == null) {
+            image = sheet.getSheet().getSubimage(col * sheet.getTileWidth(), row * sheet.getTileHeight(), sheet.getTileWidth(), sheet.getTileHeight());
+        }
+        return image;
+    }
+
     public void paint(Graphics graphics, int x, int y) {
-        graphics.drawImage(image, x, y, null);
+        graphics.drawImage(getImage(), x, y, null);
     }
 
 }
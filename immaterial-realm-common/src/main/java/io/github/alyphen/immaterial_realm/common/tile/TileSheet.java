@@ -1,14 +1,17 @@
 package io.github.alyphen.immaterial_realm.common.tile;
 
-import io.github.alyphen.immaterial_realm.common.packet.clientbound.tile.PacketSendTileSheet;
+import io.github.alyphen.immaterial_realm.common.util.ImageUtils;
 
-import javax.imageio.ImageIO;
+import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.List;
 
 import static io.github.alyphen.immaterial_realm.common.util.FileUtils.*;
+import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
 
 public class TileSheet {
 
@@ -42,17 +45,24 @@ public class TileSheet {
     }
 
     private String name;
+    private byte[] encodedSheet;
+    private String hash;
     private BufferedImage sheet;
+    private int width;
+    private int height;
     private int tileWidth;
     private int tileHeight;
     private Tile[][] tiles;
 
-    private TileSheet(String name, BufferedImage sheet, int tileWidth, int tileHeight) {
+    private TileSheet(String name, byte[] encodedSheet, int tileWidth, int tileHeight) throws IOException {
         this.name = name;
-        this.sheet = sheet;
+        this.encodedSheet = encodedSheet;
+        Dimension dimensions = ImageUtils.getDimensions(encodedSheet);
+        this.width = dimensions.width;
+        this.height = dimensions.height;
         this.tileWidth = tileWidth;
         this.tileHeight = tileHeight;
-        tiles = new Tile[sheet.getHeight() / tileHeight][sheet.getWidth() / tileWidth];
+        tiles = new Tile[height / tileHeight][width / tileWidth];
     }
 
     public String getName() {
@@ -77,15 +87,34 @@ public class TileSheet {
     }
 
     public BufferedImage getSheet() {
+        if (sheet == null) {
+            try {
+                sheet = ImageUtils.fromByteArray(encodedSheet);
+            } catch (IOException exception) {
+                exception.printStackTrace();
+                sheet = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            }
+        }
         return sheet;
     }
 
+    public byte[] getEncodedSheet() {
+        return encodedSheet;
+    }
+
+    public String getHash() {
+        if (hash == null) {
+            hash = sha256Hex(encodedSheet);
+        }
+        return hash;
+    }
+
     public int getWidth() {
-        return sheet.getWidth();
+        return width;
     }
 
     public int getHeight() {
-        return sheet.getHeight();
+        return height;
     }
 
     public int getTileWidth() {
@@ -100,13 +129,13 @@ public class TileSheet {
         File metadataFile = new File(directory, "tilesheet.json");
         Map<String, Object> metadata = loadMetadata(metadataFile);
         File imageFile = new File(directory, "tilesheet.png");
-        TileSheet sheet = new TileSheet(directory.getName(), ImageIO.read(imageFile), (int) ((double) metadata.get("tile_width")), (int) ((double) metadata.get("tile_height")));
+        TileSheet sheet = new TileSheet(directory.getName(), Files.readAllBytes(imageFile.toPath()), (int) ((double) metadata.get("tile_width")), (int) ((double) metadata.get("tile_height")));
         tileSheets.put(sheet.getName(), sheet);
         return sheet;
     }
 
-    public static TileSheet load(PacketSendTileSheet packet) {
-        TileSheet sheet = new TileSheet(packet.getName(), packet.getImage(), packet.getTileWidth(), packet.getTileHeight());
+    public static TileSheet load(String name, byte[] encodedSheet, int tileWidth, int tileHeight) throws IOException {
+        TileSheet sheet = new TileSheet(name, encodedSheet, tileWidth, tileHeight);
         tileSheets.put(sheet.getName(), sheet);
         return sheet;
     }
@@ -119,7 +148,7 @@ public class TileSheet {
             metadata.put("tile_height", tileHeight);
             saveMetadata(metadata, metadataFile);
             File imageFile = new File(directory, "tilesheet.png");
-            ImageIO.write(sheet, "png", imageFile);
+            Files.write(imageFile.toPath(), encodedSheet);
         }
     }
 
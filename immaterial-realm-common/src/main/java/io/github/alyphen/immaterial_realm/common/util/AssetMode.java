@@ -0,0 +1,17 @@
+package io.github.alyphen.immaterial_realm.common.util;
+
+public class AssetMode {
+
+    private static volatile boolean headless;
+
+    private AssetMode() {}
+
+    public static boolean isHeadless() {
+        return headless;
+    }
+
+    public static void setHeadless(boolean headless) {
+        AssetMode.headless = headless;
+    }
+
+}
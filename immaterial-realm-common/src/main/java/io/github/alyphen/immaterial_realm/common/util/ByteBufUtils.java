@@ -0,0 +1,136 @@
+package io.github.alyphen.immaterial_realm.common.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.CorruptedFrameException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class ByteBufUtils {
+
+    private ByteBufUtils() {}
+
+    public static void writeVarInt(ByteBuf buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte(value);
+    }
+
+    public static int readVarInt(ByteBuf buf) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buf.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new CorruptedFrameException("VarInt too long");
+    }
+
+    public static int getVarIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    public static void writeVarLong(ByteBuf buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte((int) value);
+    }
+
+    public static long readVarLong(ByteBuf buf) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buf.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new CorruptedFrameException("VarLong too long");
+    }
+
+    public static void writeSignedVarInt(ByteBuf buf, int value) {
+        writeVarInt(buf, (value << 1) ^ (value >> 31));
+    }
+
+    public static int readSignedVarInt(ByteBuf buf) {
+        int value = readVarInt(buf);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // Lengths are written offset by one so that zero can stand for null
+    public static void writeString(ByteBuf buf, String value) {
+        if (value == null) {
+            writeVarInt(buf, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        writeVarInt(buf, bytes.length + 1);
+        buf.writeBytes(bytes);
+    }
+
+    public static String readString(ByteBuf buf) {
+        int length = readLength(buf);
+        if (length < 0) return null;
+        String value = buf.toString(buf.readerIndex(), length, UTF_8);
+        buf.skipBytes(length);
+        return value;
+    }
+
+    public static void writeByteArray(ByteBuf buf, byte[] value) {
+        if (value == null) {
+            writeVarInt(buf, 0);
+            return;
+        }
+        writeVarInt(buf, value.length + 1);
+        buf.writeBytes(value);
+    }
+
+    public static byte[] readByteArray(ByteBuf buf) {
+        int length = readLength(buf);
+        if (length < 0) return null;
+        byte[] value = new byte[length];
+        buf.readBytes(value);
+        return value;
+    }
+
+    public static void writeByteArrays(ByteBuf buf, byte[][] value) {
+        writeVarInt(buf, value.length);
+        for (byte[] element : value) {
+            writeByteArray(buf, element);
+        }
+    }
+
+    public static byte[][] readByteArrays(ByteBuf buf) {
+        int length = readCount(buf);
+        byte[][] value = new byte[length][];
+        for (int i = 0; i < length; i++) {
+            value[i] = readByteArray(buf);
+        }
+        return value;
+    }
+
+    public static <T extends Enum<T>> T readEnum(ByteBuf buf, T[] values) {
+        int ordinal = readVarInt(buf);
+        if (ordinal < 0 || ordinal >= values.length) throw new CorruptedFrameException("Invalid ordinal: " + ordinal);
+        return values[ordinal];
+    }
+
+    public static int readCount(ByteBuf buf) {
+        int count = readVarInt(buf);
+        if (count < 0 || count > buf.readableBytes()) throw new CorruptedFrameException("Invalid element count: " + count);
+        return count;
+    }
+
+    private static int readLength(ByteBuf buf) {
+        int length = readVarInt(buf) - 1;
+        if (length > buf.readableBytes() || length < -1) throw new CorruptedFrameException("Invalid length: " + length);
+        return length;
+    }
+
+}
@@ -0,0 +1,69 @@
+package io.github.alyphen.immaterial_realm.common.util;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+public class DirectoryWatcher implements Runnable {
+
+    private final Path root;
+    private final Consumer<Path> listener;
+    private final WatchService watchService;
+
+    public DirectoryWatcher(Path root, Consumer<Path> listener) throws IOException {
+        this.root = root;
+        this.listener = listener;
+        watchService = root.getFileSystem().newWatchService();
+        registerAll(root);
+    }
+
+    public void start(String name) {
+        Thread thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        listener.accept(root);
+                        continue;
+                    }
+                    Path path = directory.resolve((Path) event.context());
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                        try {
+                            registerAll(path);
+                        } catch (IOException exception) {
+                            exception.printStackTrace();
+                        }
+                    }
+                    listener.accept(path);
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {}
+    }
+
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void registerAll(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+}
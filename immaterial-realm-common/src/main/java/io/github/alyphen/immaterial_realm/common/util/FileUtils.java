@@ -4,10 +4,14 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
 
+import static java.nio.file.StandardOpenOption.READ;
+
 public class FileUtils {
 
     private FileUtils() {}
@@ -43,6 +47,14 @@ public class FileUtils {
         writer.close();
     }
 
+    public static void syncDirectory(File directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException exception) {
+            // Some platforms cannot open a directory for syncing; the rename is as durable as they allow
+        }
+    }
+
     public static String read(File file) throws FileNotFoundException {
         StringBuilder builder = new StringBuilder();
         Scanner scanner = new Scanner(new FileInputStream(file));
@@ -1,10 +1,14 @@
 package io.github.alyphen.immaterial_realm.common.util;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Iterator;
 
 public class ImageUtils {
 
@@ -20,4 +24,18 @@ public class ImageUtils {
         return ImageIO.read(new ByteArrayInputStream(byteArray));
     }
 
+    public static Dimension getDimensions(byte[] byteArray) throws IOException {
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(byteArray))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+            if (!readers.hasNext()) throw new IOException("Unrecognised image format");
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(inputStream, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
 }
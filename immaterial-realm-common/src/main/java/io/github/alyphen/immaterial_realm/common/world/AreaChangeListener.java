@@ -0,0 +1,14 @@
+package io.github.alyphen.immaterial_realm.common.world;
+
+import io.github.alyphen.immaterial_realm.common.object.WorldObject;
+import io.github.alyphen.immaterial_realm.common.tile.Tile;
+
+public interface AreaChangeListener {
+
+    void onTileChanged(WorldArea area, long sequence, int row, int col, Tile tile);
+
+    void onObjectAdded(WorldArea area, long sequence, WorldObject object);
+
+    void onObjectRemoved(WorldArea area, long sequence, WorldObject object);
+
+}
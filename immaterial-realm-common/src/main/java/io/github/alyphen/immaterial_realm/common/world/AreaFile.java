@@ -0,0 +1,185 @@
+package io.github.alyphen.immaterial_realm.common.world;
+
+import io.github.alyphen.immaterial_realm.common.object.WorldObject;
+import io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory;
+import io.github.alyphen.immaterial_realm.common.tile.Tile;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static io.github.alyphen.immaterial_realm.common.util.FileUtils.syncDirectory;
+import static io.github.alyphen.immaterial_realm.common.world.WorldArea.CHUNK_SIZE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
+class AreaFile {
+
+    static final String FILE_NAME = "area.bin";
+
+    private static final int MAGIC = 0x49524152;
+    private static final int VERSION = 4;
+    private static final int CHUNK_BYTES = CHUNK_SIZE * CHUNK_SIZE * 2;
+
+    private AreaFile() {}
+
+    static WorldArea read(World world, File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) throw new IOException(file.getPath() + " is not an area file");
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException(file.getPath() + " has unsupported version " + version);
+            String name = readString(buffer);
+            int rows = buffer.getInt();
+            int cols = buffer.getInt();
+            long sequence = buffer.getLong();
+            if (rows < 0 || cols < 0) throw new IOException(file.getPath() + " has an invalid size");
+            WorldArea area = new WorldArea(world, name, rows, cols);
+            int paletteSize = buffer.getInt();
+            if (paletteSize < 0 || paletteSize > buffer.remaining()) throw new IOException(file.getPath() + " has an invalid palette");
+            int[] paletteIndices = new int[paletteSize + 1];
+            for (int i = 1; i <= paletteSize; i++) {
+                String sheetName = readString(buffer);
+                int row = buffer.getInt();
+                int col = buffer.getInt();
+                TileSheet sheet = TileSheet.getTileSheet(sheetName);
+                if (sheet == null) throw new IOException(file.getPath() + " uses unknown tile sheet " + sheetName);
+                paletteIndices[i] = area.getPaletteIndex(sheet.getTile(row, col));
+            }
+            int objectCount = buffer.getInt();
+            for (int i = 0; i < objectCount; i++) {
+                long id = buffer.getLong();
+                String type = readString(buffer);
+                int x = buffer.getInt();
+                int y = buffer.getInt();
+                WorldObject object = WorldObjectFactory.createObject(type, id);
+                if (object == null) continue;
+                object.setX(x);
+                object.setY(y);
+                area.addObject(object);
+            }
+            if ((long) area.getChunkCount() * CHUNK_BYTES != buffer.remaining()) throw new IOException(file.getPath() + " has an invalid chunk table");
+            area.setChunkSource(new MappedChunkSource(file, buffer, buffer.position(), paletteIndices));
+            area.setSequence(sequence);
+            return area;
+        } catch (RuntimeException exception) {
+            throw new IOException(file.getPath() + " is truncated or corrupt", exception);
+        }
+    }
+
+    static ChunkSource open(AreaSnapshot snapshot, File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !readString(buffer).equals(snapshot.getName())) throw new IOException(file.getPath() + " was not written from area " + snapshot.getName());
+            buffer.position(buffer.position() + 16);
+            int paletteSize = buffer.getInt();
+            if (paletteSize != snapshot.getPalette().size() - 1) throw new IOException(file.getPath() + " has a different palette to area " + snapshot.getName());
+            int[] paletteIndices = new int[paletteSize + 1];
+            for (int i = 1; i <= paletteSize; i++) {
+                readString(buffer);
+                buffer.position(buffer.position() + 8);
+                paletteIndices[i] = i;
+            }
+            int objectCount = buffer.getInt();
+            for (int i = 0; i < objectCount; i++) {
+                buffer.position(buffer.position() + 8);
+                readString(buffer);
+                buffer.position(buffer.position() + 8);
+            }
+            if ((long) snapshot.getChunkCount() * CHUNK_BYTES != buffer.remaining()) throw new IOException(file.getPath() + " has an invalid chunk table");
+            return new MappedChunkSource(file, buffer, buffer.position(), paletteIndices);
+        } catch (RuntimeException exception) {
+            throw new IOException(file.getPath() + " is truncated or corrupt", exception);
+        }
+    }
+
+    static void write(AreaSnapshot snapshot, File file) throws IOException {
+        File temporaryFile = new File(file.getPath() + ".tmp");
+        FileOutputStream fileOutputStream = new FileOutputStream(temporaryFile);
+        try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream))) {
+            outputStream.writeInt(MAGIC);
+            outputStream.writeInt(VERSION);
+            writeString(outputStream, snapshot.getName());
+            outputStream.writeInt(snapshot.getRows());
+            outputStream.writeInt(snapshot.getColumns());
+            outputStream.writeLong(snapshot.getSequence());
+            List<Tile> palette = snapshot.getPalette();
+            outputStream.writeInt(palette.size() - 1);
+            for (Tile tile : palette.subList(1, palette.size())) {
+                writeString(outputStream, tile.getSheet().getName());
+                outputStream.writeInt(tile.getRow());
+                outputStream.writeInt(tile.getColumn());
+            }
+            outputStream.writeInt(snapshot.getObjectTypes().length);
+            for (int i = 0; i < snapshot.getObjectTypes().length; i++) {
+                outputStream.writeLong(snapshot.getObjectIds()[i]);
+                writeString(outputStream, snapshot.getObjectTypes()[i]);
+                outputStream.writeInt(snapshot.getObjectXs()[i]);
+                outputStream.writeInt(snapshot.getObjectYs()[i]);
+            }
+            for (int chunkIndex = 0; chunkIndex < snapshot.getChunkCount(); chunkIndex++) {
+                short[] chunk = snapshot.readChunk(chunkIndex);
+                for (int i = 0; i < CHUNK_SIZE * CHUNK_SIZE; i++) {
+                    outputStream.writeShort(chunk == null ? 0 : chunk[i]);
+                }
+            }
+            outputStream.flush();
+            fileOutputStream.getChannel().force(true);
+        }
+        try {
+            Files.move(temporaryFile.toPath(), file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporaryFile.toPath(), file.toPath(), REPLACE_EXISTING);
+        }
+        syncDirectory(file.getAbsoluteFile().getParentFile());
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void writeString(DataOutputStream outputStream, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        if (bytes.length > 0xFFFF) throw new IOException("String too long for area file: " + value.length() + " characters");
+        outputStream.writeShort(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private static class MappedChunkSource implements ChunkSource {
+
+        private final File file;
+        private final ByteBuffer buffer;
+        private final int chunkTableOffset;
+        private final int[] paletteIndices;
+
+        public MappedChunkSource(File file, ByteBuffer buffer, int chunkTableOffset, int[] paletteIndices) {
+            this.file = file;
+            this.buffer = buffer;
+            this.chunkTableOffset = chunkTableOffset;
+            this.paletteIndices = paletteIndices;
+        }
+
+        @Override
+        public short[] loadChunk(int chunkIndex) throws IOException {
+            short[] chunk = new short[CHUNK_SIZE * CHUNK_SIZE];
+            int offset = chunkTableOffset + chunkIndex * CHUNK_BYTES;
+            for (int i = 0; i < chunk.length; i++) {
+                int index = buffer.getShort(offset + i * 2) & 0xFFFF;
+                if (index >= paletteIndices.length) throw new IOException(file.getPath() + " references missing palette entry " + index + " in chunk " + chunkIndex);
+                chunk[i] = (short) paletteIndices[index];
+            }
+            return chunk;
+        }
+
+    }
+
+}
@@ -0,0 +1,213 @@
+package io.github.alyphen.immaterial_realm.common.world;
+
+import io.github.alyphen.immaterial_realm.common.object.WorldObject;
+import io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory;
+import io.github.alyphen.immaterial_realm.common.tile.Tile;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public class AreaJournal {
+
+    public static final String FILE_NAME = "area.journal";
+
+    private static final int TILE_CHANGED = 1;
+    private static final int OBJECT_ADDED = 2;
+    private static final int OBJECT_REMOVED = 3;
+    private static final int HEADER_SIZE = 8;
+
+    private AreaJournal() {}
+
+    public static byte[] tileChanged(long sequence, int row, int col, Tile tile) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            DataOutputStream outputStream = new DataOutputStream(payload);
+            outputStream.writeLong(sequence);
+            outputStream.writeByte(TILE_CHANGED);
+            outputStream.writeInt(row);
+            outputStream.writeInt(col);
+            outputStream.writeUTF(tile == null ? "" : tile.getSheet().getName());
+            outputStream.writeInt(tile == null ? 0 : tile.getRow());
+            outputStream.writeInt(tile == null ? 0 : tile.getColumn());
+            return frame(payload.toByteArray());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public static byte[] objectAdded(long sequence, WorldObject object) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            DataOutputStream outputStream = new DataOutputStream(payload);
+            outputStream.writeLong(sequence);
+            outputStream.writeByte(OBJECT_ADDED);
+            outputStream.writeLong(object.getId());
+            outputStream.writeUTF(object.getType());
+            outputStream.writeInt(object.getX());
+            outputStream.writeInt(object.getY());
+            return frame(payload.toByteArray());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public static byte[] objectRemoved(long sequence, WorldObject object) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            DataOutputStream outputStream = new DataOutputStream(payload);
+            outputStream.writeLong(sequence);
+            outputStream.writeByte(OBJECT_REMOVED);
+            outputStream.writeLong(object.getId());
+            return frame(payload.toByteArray());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static byte[] frame(byte[] payload) {
+        CRC32 checksum = new CRC32();
+        checksum.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) checksum.getValue());
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    public static File getJournalFile(File directory) {
+        return new File(directory, FILE_NAME);
+    }
+
+    public static File getSegmentFile(File directory, long sequence) {
+        return new File(directory, FILE_NAME + "." + sequence);
+    }
+
+    public static List<File> getSegmentFiles(File directory) {
+        List<File> segments = new ArrayList<>();
+        File[] files = directory.listFiles(file -> getSegmentSequence(file) >= 0);
+        if (files != null) {
+            for (File file : files) {
+                segments.add(file);
+            }
+        }
+        segments.sort(Comparator.comparingLong(AreaJournal::getSegmentSequence));
+        return segments;
+    }
+
+    private static long getSegmentSequence(File file) {
+        String prefix = FILE_NAME + ".";
+        if (!file.getName().startsWith(prefix)) return -1;
+        try {
+            return Long.parseLong(file.getName().substring(prefix.length()));
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    public static void deleteSegments(File directory, long sequence) throws IOException {
+        for (File segment : getSegmentFiles(directory)) {
+            if (getSegmentSequence(segment) <= sequence) Files.deleteIfExists(segment.toPath());
+        }
+    }
+
+    public static boolean exists(File directory) {
+        return getJournalFile(directory).exists() || !getSegmentFiles(directory).isEmpty();
+    }
+
+    public static void delete(File directory) throws IOException {
+        deleteSegments(directory, Long.MAX_VALUE);
+        Files.deleteIfExists(getJournalFile(directory).toPath());
+    }
+
+    public static int replay(WorldArea area, File directory) throws IOException {
+        List<File> files = getSegmentFiles(directory);
+        files.add(getJournalFile(directory));
+        AreaChangeListener changeListener = area.getChangeListener();
+        area.setChangeListener(null);
+        try {
+            int applied = 0;
+            for (File file : files) {
+                if (!file.exists()) continue;
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+                while (buffer.hasRemaining()) {
+                    int start = buffer.position();
+                    byte[] payload = readRecord(buffer);
+                    if (payload == null) {
+                        try (FileChannel channel = FileChannel.open(file.toPath(), WRITE)) {
+                            channel.truncate(start);
+                        }
+                        return applied;
+                    }
+                    if (apply(area, payload)) applied++;
+                }
+            }
+            return applied;
+        } finally {
+            area.setChangeListener(changeListener);
+        }
+    }
+
+    private static byte[] readRecord(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) return null;
+        int length = buffer.getInt();
+        int expectedChecksum = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) return null;
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 checksum = new CRC32();
+        checksum.update(payload);
+        return (int) checksum.getValue() == expectedChecksum ? payload : null;
+    }
+
+    private static boolean apply(WorldArea area, byte[] payload) throws IOException {
+        DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(payload));
+        long sequence = inputStream.readLong();
+        if (sequence <= area.getSequence()) return false;
+        int type = inputStream.readByte();
+        switch (type) {
+            case TILE_CHANGED:
+                int row = inputStream.readInt();
+                int col = inputStream.readInt();
+                String sheetName = inputStream.readUTF();
+                int tileRow = inputStream.readInt();
+                int tileCol = inputStream.readInt();
+                Tile tile = null;
+                if (!sheetName.isEmpty()) {
+                    TileSheet sheet = TileSheet.getTileSheet(sheetName);
+                    if (sheet == null) throw new IOException("Journal for area " + area.getName() + " uses unknown tile sheet " + sheetName);
+                    tile = sheet.getTile(tileRow, tileCol);
+                }
+                area.setTileAt(row, col, tile);
+                break;
+            case OBJECT_ADDED:
+                long id = inputStream.readLong();
+                WorldObject object = WorldObjectFactory.createObject(inputStream.readUTF(), id);
+                int x = inputStream.readInt();
+                int y = inputStream.readInt();
+                if (object != null) {
+                    object.setX(x);
+                    object.setY(y);
+                    area.addObject(object);
+                }
+                break;
+            case OBJECT_REMOVED:
+                WorldObject removed = area.getObject(inputStream.readLong());
+                if (removed != null) area.removeObject(removed);
+                break;
+            default:
+                throw new IOException("Journal for area " + area.getName() + " has unknown record type " + type);
+        }
+        area.setSequence(sequence);
+        return true;
+    }
+
+}
@@ -0,0 +1,115 @@
+package io.github.alyphen.immaterial_realm.common.world;
+
+import io.github.alyphen.immaterial_realm.common.object.WorldObject;
+import io.github.alyphen.immaterial_realm.common.tile.Tile;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+public class AreaSnapshot {
+
+    private final WorldArea area;
+    private final File directory;
+    private final long sequence;
+    private final String name;
+    private final int rows;
+    private final int cols;
+    private final List<Tile> palette;
+    private final long[] objectIds;
+    private final String[] objectTypes;
+    private final int[] objectXs;
+    private final int[] objectYs;
+    private final short[][] chunks;
+    private final ChunkSource chunkSource;
+    private volatile ChunkSource savedSource;
+
+    AreaSnapshot(WorldArea area, File directory, long sequence, List<Tile> palette, List<WorldObject> objects, short[][] chunks, ChunkSource chunkSource) {
+        this.area = area;
+        this.directory = directory;
+        this.sequence = sequence;
+        this.name = area.getName();
+        this.rows = area.getRows();
+        this.cols = area.getColumns();
+        this.palette = palette;
+        this.objectIds = new long[objects.size()];
+        this.objectTypes = new String[objects.size()];
+        this.objectXs = new int[objects.size()];
+        this.objectYs = new int[objects.size()];
+        for (int i = 0; i < objects.size(); i++) {
+            WorldObject object = objects.get(i);
+            objectIds[i] = object.getId();
+            objectTypes[i] = object.getType();
+            objectXs[i] = object.getX();
+            objectYs[i] = object.getY();
+        }
+        this.chunks = chunks;
+        this.chunkSource = chunkSource;
+    }
+
+    public WorldArea getArea() {
+        return area;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void save() throws IOException {
+        if (!directory.exists()) directory.mkdirs();
+        File file = new File(directory, AreaFile.FILE_NAME);
+        AreaFile.write(this, file);
+        savedSource = AreaFile.open(this, file);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    int getColumns() {
+        return cols;
+    }
+
+    List<Tile> getPalette() {
+        return palette;
+    }
+
+    long[] getObjectIds() {
+        return objectIds;
+    }
+
+    String[] getObjectTypes() {
+        return objectTypes;
+    }
+
+    int[] getObjectXs() {
+        return objectXs;
+    }
+
+    int[] getObjectYs() {
+        return objectYs;
+    }
+
+    int getChunkCount() {
+        return chunks.length;
+    }
+
+    short[] readChunk(int chunkIndex) throws IOException {
+        short[] chunk = chunks[chunkIndex];
+        if (chunk == null && chunkSource != null) chunk = chunkSource.loadChunk(chunkIndex);
+        return chunk;
+    }
+
+    ChunkSource getSavedSource() {
+        return savedSource;
+    }
+
+}
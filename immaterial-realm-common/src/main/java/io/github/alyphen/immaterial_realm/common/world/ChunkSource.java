@@ -0,0 +1,9 @@
+package io.github.alyphen.immaterial_realm.common.world;
+
+import java.io.IOException;
+
+interface ChunkSource {
+
+    short[] loadChunk(int chunkIndex) throws IOException;
+
+}
@@ -0,0 +1,9 @@
+package io.github.alyphen.immaterial_realm.common.world;
+
+public interface Locatable {
+
+    public int getX();
+
+    public int getY();
+
+}
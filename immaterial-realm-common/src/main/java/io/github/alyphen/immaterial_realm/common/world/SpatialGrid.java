@@ -0,0 +1,120 @@
+package io.github.alyphen.immaterial_realm.common.world;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.lang.Math.floorDiv;
+
+public class SpatialGrid<T extends Locatable> {
+
+    private int cellSize;
+    private TLongObjectMap<List<T>> cells;
+
+    public SpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+        cells = new TLongObjectHashMap<>();
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getCell(int coordinate) {
+        return floorDiv(coordinate, cellSize);
+    }
+
+    private long getCellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    public void add(T item) {
+        addToCell(item, getCellKey(getCell(item.getX()), getCell(item.getY())));
+    }
+
+    public void remove(T item) {
+        removeFromCell(item, getCellKey(getCell(item.getX()), getCell(item.getY())));
+    }
+
+    public boolean move(T item, int oldX, int oldY) {
+        long oldCellKey = getCellKey(getCell(oldX), getCell(oldY));
+        long newCellKey = getCellKey(getCell(item.getX()), getCell(item.getY()));
+        if (oldCellKey == newCellKey) return false;
+        removeFromCell(item, oldCellKey);
+        addToCell(item, newCellKey);
+        return true;
+    }
+
+    private void addToCell(T item, long cellKey) {
+        List<T> cell = cells.get(cellKey);
+        if (cell == null) {
+            cell = new ArrayList<>();
+            cells.put(cellKey, cell);
+        }
+        cell.add(item);
+    }
+
+    private void removeFromCell(T item, long cellKey) {
+        List<T> cell = cells.get(cellKey);
+        if (cell != null) {
+            cell.remove(item);
+            if (cell.isEmpty()) cells.remove(cellKey);
+        }
+    }
+
+    public void forEachInRectangle(int x, int y, int width, int height, Consumer<? super T> consumer) {
+        int minCellX = getCell(x);
+        int minCellY = getCell(y);
+        int maxCellX = getCell(x + width);
+        int maxCellY = getCell(y + height);
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                List<T> cell = cells.get(getCellKey(cellX, cellY));
+                if (cell == null) continue;
+                for (int i = 0; i < cell.size(); i++) {
+                    T item = cell.get(i);
+                    if (item.getX() >= x && item.getX() <= x + width && item.getY() >= y && item.getY() <= y + height) {
+                        consumer.accept(item);
+                    }
+                }
+            }
+        }
+    }
+
+    public void forEachInRadius(int x, int y, int radius, Consumer<? super T> consumer) {
+        long radiusSquared = (long) radius * radius;
+        int minCellX = getCell(x - Math.abs(radius));
+        int minCellY = getCell(y - Math.abs(radius));
+        int maxCellX = getCell(x + Math.abs(radius));
+        int maxCellY = getCell(y + Math.abs(radius));
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                List<T> cell = cells.get(getCellKey(cellX, cellY));
+                if (cell == null) continue;
+                for (int i = 0; i < cell.size(); i++) {
+                    T item = cell.get(i);
+                    long dx = item.getX() - x;
+                    long dy = item.getY() - y;
+                    if ((dx * dx) + (dy * dy) <= radiusSquared) {
+                        consumer.accept(item);
+                    }
+                }
+            }
+        }
+    }
+
+    public <C extends Collection<? super T>> C getInRectangle(int x, int y, int width, int height, C results) {
+        forEachInRectangle(x, y, width, height, results::add);
+        return results;
+    }
+
+    public <C extends Collection<? super T>> C getInRadius(int x, int y, int radius, C results) {
+        forEachInRadius(x, y, radius, results::add);
+        return results;
+    }
+
+}
@@ -1,5 +1,7 @@
 package io.github.alyphen.immaterial_realm.common.world;
 
+import io.github.alyphen.immaterial_realm.common.entity.EntityCharacter;
+
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
@@ -45,6 +47,14 @@ public class World {
         return areas.get(name);
     }
 
+    public EntityCharacter getCharacterEntity(long characterId) {
+        for (WorldArea area : getAreas()) {
+            EntityCharacter entity = area.getCharacterEntity(characterId);
+            if (entity != null) return entity;
+        }
+        return null;
+    }
+
     public void addArea(WorldArea area) {
         areas.put(area.getName(), area);
     }
@@ -1,40 +1,81 @@
 package io.github.alyphen.immaterial_realm.common.world;
 
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import io.github.alyphen.immaterial_realm.common.entity.Entity;
+import io.github.alyphen.immaterial_realm.common.entity.EntityCharacter;
 import io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory;
 import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
 import io.github.alyphen.immaterial_realm.common.object.WorldObject;
 import io.github.alyphen.immaterial_realm.common.packet.world.PacketSendArea;
+import io.github.alyphen.immaterial_realm.common.tick.TickTimer;
 import io.github.alyphen.immaterial_realm.common.tile.Tile;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.UncheckedIOException;
+import java.util.*;
 
 import static io.github.alyphen.immaterial_realm.common.util.FileUtils.loadMetadata;
 import static io.github.alyphen.immaterial_realm.common.util.FileUtils.saveMetadata;
 
 public class WorldArea {
 
+    private static final int GRID_CELL_SIZE = 128;
+    private static final int MAX_PALETTE_SIZE = 0xFFFF;
+    private static final int DEFAULT_TILE_SIZE = 32;
+
+    public static final int CHUNK_SIZE = 32;
+
     private World world;
     private String name;
     private List<WorldObject> objects;
+    private Set<WorldObject> tickingObjects;
+    private WorldObject[] tickingObjectSnapshot;
     private List<Entity> entities;
+    private TLongObjectMap<Entity> entitiesById;
+    private TLongObjectMap<EntityCharacter> entitiesByCharacterId;
+    private SpatialGrid<WorldObject> objectGrid;
+    private SpatialGrid<Entity> entityGrid;
+    private TickTimer timer;
     private int rows;
     private int cols;
-    private Tile[][] tiles;
+    private List<Tile> palette;
+    private Map<Tile, Integer> paletteIndices;
+    private int chunkRows;
+    private int chunkCols;
+    private short[][] chunks;
+    private BitSet modifiedChunks;
+    private BitSet savingChunks;
+    private BitSet sharedChunks;
+    private boolean objectsModified;
+    private ChunkSource chunkSource;
+    private File directory;
+    private AreaChangeListener changeListener;
+    private long sequence;
 
-    private WorldArea(World world, String name, int rows, int cols) {
+    WorldArea(World world, String name, int rows, int cols) {
         this.world = world;
         this.name = name;
         this.objects = new ArrayList<>();
+        this.tickingObjects = new LinkedHashSet<>();
         this.entities = new ArrayList<>();
+        this.entitiesById = new TLongObjectHashMap<>();
+        this.entitiesByCharacterId = new TLongObjectHashMap<>();
+        this.objectGrid = new SpatialGrid<>(GRID_CELL_SIZE);
+        this.entityGrid = new SpatialGrid<>(GRID_CELL_SIZE);
+        this.timer = new TickTimer();
         this.rows = rows;
         this.cols = cols;
-        this.tiles = new Tile[rows][cols];
+        this.palette = new ArrayList<>();
+        this.palette.add(null);
+        this.paletteIndices = new HashMap<>();
+        this.chunkRows = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkCols = (cols + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new short[chunkRows * chunkCols][];
+        this.modifiedChunks = new BitSet();
+        this.savingChunks = new BitSet();
+        this.sharedChunks = new BitSet();
     }
 
     public World getWorld() {
@@ -51,22 +92,104 @@ public class WorldArea {
 
     public void addObject(WorldObject object) {
         getObjects().add(object);
+        object.setArea(this);
+        objectGrid.add(object);
+        if (object.isTicking()) addTickingObject(object);
+        objectsModified = true;
+        if (changeListener != null) changeListener.onObjectAdded(this, ++sequence, object);
+    }
+
+    public WorldObject getObject(long id) {
+        for (WorldObject object : getObjects()) {
+            if (object.getId() == id) return object;
+        }
+        return null;
     }
 
     public void removeObject(WorldObject object) {
-        getObjects().remove(object);
+        if (!getObjects().remove(object)) return;
+        objectGrid.remove(object);
+        removeTickingObject(object);
+        object.setArea(null);
+        objectsModified = true;
+        if (changeListener != null) changeListener.onObjectRemoved(this, ++sequence, object);
+    }
+
+    public void markObjectsModified() {
+        objectsModified = true;
+    }
+
+    public Set<WorldObject> getTickingObjects() {
+        return tickingObjects;
+    }
+
+    public void updateTicking(WorldObject object) {
+        if (object.isTicking()) {
+            addTickingObject(object);
+        } else {
+            removeTickingObject(object);
+        }
+    }
+
+    private void addTickingObject(WorldObject object) {
+        if (tickingObjects.add(object)) tickingObjectSnapshot = null;
+    }
+
+    private void removeTickingObject(WorldObject object) {
+        if (tickingObjects.remove(object)) tickingObjectSnapshot = null;
+    }
+
+    public SpatialGrid<WorldObject> getObjectGrid() {
+        return objectGrid;
+    }
+
+    public SpatialGrid<Entity> getEntityGrid() {
+        return entityGrid;
+    }
+
+    public TickTimer getTimer() {
+        return timer;
     }
 
     public List<Entity> getEntities() {
         return entities;
     }
 
+    public Entity getEntity(long id) {
+        return entitiesById.get(id);
+    }
+
+    public EntityCharacter getCharacterEntity(long characterId) {
+        return entitiesByCharacterId.get(characterId);
+    }
+
     public void addEntity(Entity entity) {
         getEntities().add(entity);
+        entitiesById.put(entity.getId(), entity);
+        entity.setArea(this);
+        entityGrid.add(entity);
+        if (entity instanceof EntityCharacter && ((EntityCharacter) entity).getCharacter() != null) {
+            addCharacterIndex((EntityCharacter) entity);
+        }
     }
 
     public void removeEntity(Entity entity) {
-        getEntities().remove(entity);
+        if (!getEntities().remove(entity)) return;
+        if (entitiesById.get(entity.getId()) == entity) entitiesById.remove(entity.getId());
+        if (entity instanceof EntityCharacter && ((EntityCharacter) entity).getCharacter() != null) {
+            removeCharacterIndex((EntityCharacter) entity);
+        }
+        entityGrid.remove(entity);
+        entity.setArea(null);
+    }
+
+    public void addCharacterIndex(EntityCharacter entity) {
+        entitiesByCharacterId.put(entity.getCharacter().getId(), entity);
+    }
+
+    public void removeCharacterIndex(EntityCharacter entity) {
+        long characterId = entity.getCharacter().getId();
+        if (entitiesByCharacterId.get(characterId) == entity) entitiesByCharacterId.remove(characterId);
     }
 
     public int getRows() {
@@ -77,57 +200,283 @@ public class WorldArea {
         return cols;
     }
 
-    public Tile[][] getTiles() {
-        return tiles;
+    public List<Tile> getPalette() {
+        return Collections.unmodifiableList(palette);
+    }
+
+    public int getTileIndex(int row, int col) {
+        short[] chunk = getChunk(getChunkIndex(row, col), false);
+        return chunk == null ? 0 : chunk[getOffsetInChunk(row, col)] & 0xFFFF;
     }
 
     public Tile getTileAt(int row, int col) {
-        return getTiles()[row][col];
+        return palette.get(getTileIndex(row, col));
     }
 
     public void setTileAt(int row, int col, Tile tile) {
-        getTiles()[row][col] = tile;
+        int chunkIndex = getChunkIndex(row, col);
+        short[] chunk = getChunk(chunkIndex, true);
+        if (sharedChunks.get(chunkIndex)) {
+            chunk = chunk.clone();
+            chunks[chunkIndex] = chunk;
+            sharedChunks.clear(chunkIndex);
+        }
+        chunk[getOffsetInChunk(row, col)] = (short) getPaletteIndex(tile);
+        modifiedChunks.set(chunkIndex);
+        if (changeListener != null) changeListener.onTileChanged(this, ++sequence, row, col, tile);
+    }
+
+    public int getTileWidth() {
+        return palette.size() > 1 ? palette.get(1).getSheet().getTileWidth() : DEFAULT_TILE_SIZE;
+    }
+
+    public int getTileHeight() {
+        return palette.size() > 1 ? palette.get(1).getSheet().getTileHeight() : DEFAULT_TILE_SIZE;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public int getChunkColumns() {
+        return chunkCols;
+    }
+
+    public int getChunkRowAt(int y) {
+        return Math.floorDiv(y, getTileHeight() * CHUNK_SIZE);
+    }
+
+    public int getChunkColumnAt(int x) {
+        return Math.floorDiv(x, getTileWidth() * CHUNK_SIZE);
+    }
+
+    public boolean isChunkLoaded(int chunkRow, int chunkCol) {
+        return chunks[chunkRow * chunkCols + chunkCol] != null;
+    }
+
+    public int getLoadedChunkCount() {
+        int count = 0;
+        for (short[] chunk : chunks) {
+            if (chunk != null) count++;
+        }
+        return count;
+    }
+
+    public Tile[] getChunkTiles(int chunkRow, int chunkCol) {
+        short[] chunk = getChunk(chunkRow * chunkCols + chunkCol, false);
+        Tile[] chunkTiles = new Tile[CHUNK_SIZE * CHUNK_SIZE];
+        if (chunk != null) {
+            for (int i = 0; i < chunk.length; i++) {
+                chunkTiles[i] = palette.get(chunk[i] & 0xFFFF);
+            }
+        }
+        return chunkTiles;
+    }
+
+    public void setChunkTiles(int chunkRow, int chunkCol, Tile[] chunkTiles) {
+        int chunkIndex = chunkRow * chunkCols + chunkCol;
+        short[] chunk = new short[CHUNK_SIZE * CHUNK_SIZE];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = (short) getPaletteIndex(chunkTiles[i]);
+        }
+        chunks[chunkIndex] = chunk;
+        sharedChunks.clear(chunkIndex);
+        modifiedChunks.set(chunkIndex);
+    }
+
+    public boolean unloadChunk(int chunkRow, int chunkCol) {
+        int chunkIndex = chunkRow * chunkCols + chunkCol;
+        if (chunkSource == null || modifiedChunks.get(chunkIndex) || savingChunks.get(chunkIndex)) return false;
+        chunks[chunkIndex] = null;
+        sharedChunks.clear(chunkIndex);
+        return true;
+    }
+
+    public int evictChunks(int distance) {
+        if (chunkSource == null) return 0;
+        List<int[]> occupiedChunks = new ArrayList<>();
+        for (Entity entity : getEntities()) {
+            if (entity instanceof EntityCharacter) occupiedChunks.add(new int[] {getChunkRowAt(entity.getY()), getChunkColumnAt(entity.getX())});
+        }
+        int evicted = 0;
+        for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+            if (chunks[chunkIndex] == null) continue;
+            int chunkRow = chunkIndex / chunkCols;
+            int chunkCol = chunkIndex % chunkCols;
+            boolean occupied = false;
+            for (int[] occupiedChunk : occupiedChunks) {
+                if (Math.abs(occupiedChunk[0] - chunkRow) <= distance && Math.abs(occupiedChunk[1] - chunkCol) <= distance) {
+                    occupied = true;
+                    break;
+                }
+            }
+            if (!occupied && unloadChunk(chunkRow, chunkCol)) evicted++;
+        }
+        return evicted;
+    }
+
+    private short[] getChunk(int chunkIndex, boolean create) {
+        short[] chunk = chunks[chunkIndex];
+        if (chunk == null) {
+            if (chunkSource != null) {
+                try {
+                    chunk = chunkSource.loadChunk(chunkIndex);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            } else if (create) {
+                chunk = new short[CHUNK_SIZE * CHUNK_SIZE];
+            } else {
+                return null;
+            }
+            chunks[chunkIndex] = chunk;
+        }
+        return chunk;
+    }
+
+    int getChunkCount() {
+        return chunks.length;
+    }
+
+    void setChunkSource(ChunkSource chunkSource) {
+        this.chunkSource = chunkSource;
+        modifiedChunks.clear();
+        objectsModified = false;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public AreaChangeListener getChangeListener() {
+        return changeListener;
+    }
+
+    public void setChangeListener(AreaChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public boolean isDirty() {
+        return objectsModified || !modifiedChunks.isEmpty();
+    }
+
+    public AreaSnapshot createSnapshot(File directory) {
+        short[][] snapshotChunks = chunks.clone();
+        for (int chunkIndex = 0; chunkIndex < snapshotChunks.length; chunkIndex++) {
+            if (snapshotChunks[chunkIndex] != null) sharedChunks.set(chunkIndex);
+        }
+        savingChunks.or(modifiedChunks);
+        modifiedChunks.clear();
+        objectsModified = false;
+        return new AreaSnapshot(this, directory, sequence, new ArrayList<>(palette), getObjects(), snapshotChunks, chunkSource);
+    }
+
+    public void finishSave(AreaSnapshot snapshot) {
+        if (snapshot.getSavedSource() != null) {
+            chunkSource = snapshot.getSavedSource();
+        } else {
+            modifiedChunks.or(savingChunks);
+            objectsModified = true;
+        }
+        savingChunks.clear();
+    }
+
+    private int getChunkIndex(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) throw new ArrayIndexOutOfBoundsException("Tile " + row + "," + col + " is outside of area " + name);
+        return (row / CHUNK_SIZE) * chunkCols + col / CHUNK_SIZE;
+    }
+
+    private int getOffsetInChunk(int row, int col) {
+        return (row % CHUNK_SIZE) * CHUNK_SIZE + col % CHUNK_SIZE;
+    }
+
+    int getPaletteIndex(Tile tile) {
+        if (tile == null) return 0;
+        Integer index = paletteIndices.get(tile);
+        if (index == null) {
+            if (palette.size() > MAX_PALETTE_SIZE) throw new IllegalStateException("Area " + name + " uses more than " + MAX_PALETTE_SIZE + " distinct tiles");
+            index = palette.size();
+            palette.add(tile);
+            paletteIndices.put(tile, index);
+        }
+        return index;
     }
 
     public void onTick() {
-        getObjects().stream().forEach(WorldObject::onTick);
+        timer.tick();
+        if (tickingObjectSnapshot == null) tickingObjectSnapshot = tickingObjects.toArray(new WorldObject[tickingObjects.size()]);
+        for (WorldObject object : tickingObjectSnapshot) {
+            object.onTick();
+        }
         getEntities().stream().forEach(Entity::onTick);
     }
 
-    public static WorldArea load(World world, File directory) throws IOException, ClassNotFoundException {
-        File metadataFile = new File(directory, "area.json");
-        Map<String, Object> metadata = loadMetadata(metadataFile);
-        WorldArea area = new WorldArea(world, (String) metadata.get("name"), (int) ((double) metadata.get("rows")), (int) ((double) metadata.get("cols")));
+    public static WorldArea load(World world, File directory) throws IOException {
+        File binaryFile = new File(directory, AreaFile.FILE_NAME);
+        File jsonFile = new File(directory, "area.json");
+        if (binaryFile.exists() && (!jsonFile.exists() || binaryFile.lastModified() >= jsonFile.lastModified())) {
+            try {
+                WorldArea area = AreaFile.read(world, binaryFile);
+                area.directory = directory;
+                return area;
+            } catch (IOException exception) {
+                if (!jsonFile.exists()) throw exception;
+                if (AreaJournal.exists(directory)) throw new IOException("Could not read " + binaryFile.getPath() + " and its journal has changes that area.json does not; restore area.bin to recover them", exception);
+                exception.printStackTrace();
+            }
+        }
+        WorldArea area = importJson(world, jsonFile);
+        AreaJournal.delete(directory);
+        area.directory = directory;
+        area.save(directory);
+        return area;
+    }
+
+    public static WorldArea importJson(World world, File file) throws IOException {
+        Map<String, Object> metadata = loadMetadata(file);
+        WorldArea area = new WorldArea(world, (String) metadata.get("name"), ((Number) metadata.get("rows")).intValue(), ((Number) metadata.get("cols")).intValue());
         List<List<Map<String, Object>>> tiles = (List<List<Map<String, Object>>>) metadata.get("tiles");
         for (int row = 0; row < area.getRows(); row++) {
             for (int col = 0; col < area.getColumns(); col++) {
                 Map<String, Object> tileMeta = tiles.get(row).get(col);
-                Tile tile = TileSheet.getTileSheet((String) tileMeta.get("sheet")).getTile((int) ((double) tileMeta.get("row")), (int) ((double) tileMeta.get("col")));
+                if (tileMeta == null) continue;
+                Tile tile = TileSheet.getTileSheet((String) tileMeta.get("sheet")).getTile(((Number) tileMeta.get("row")).intValue(), ((Number) tileMeta.get("col")).intValue());
                 area.setTileAt(row, col, tile);
             }
         }
         List<Map<String, Object>> objects = (List<Map<String, Object>>) metadata.get("objects");
         for (Map<String, Object> objectMeta : objects) {
             WorldObject object = WorldObjectFactory.createObject((String) objectMeta.get("type"));
-            object.setX((int) objectMeta.get("x"));
-            object.setY((int) objectMeta.get("y"));
+            if (object == null) continue;
+            object.setX(((Number) objectMeta.get("x")).intValue());
+            object.setY(((Number) objectMeta.get("y")).intValue());
             area.addObject(object);
         }
         return area;
     }
 
     public static WorldArea load(PacketSendArea packet) {
-        WorldArea area = new WorldArea(World.getWorld(packet.getWorld()), packet.getArea(), packet.getRows(), packet.getColumns());
-        for (int row = 0; row < packet.getRows(); row++) {
-            for (int col = 0; col < packet.getColumns(); col++) {
-                area.setTileAt(row, col, packet.getTileAt(row, col));
-            }
-        }
-        return area;
+        return new WorldArea(World.getWorld(packet.getWorld()), packet.getArea(), packet.getRows(), packet.getColumns());
     }
 
     public void save(File directory) throws IOException {
-        File metadataFile = new File(directory, "area.json");
+        AreaSnapshot snapshot = createSnapshot(directory);
+        try {
+            snapshot.save();
+        } finally {
+            finishSave(snapshot);
+        }
+    }
+
+    public void exportJson(File file) throws IOException {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("name", getName());
         metadata.put("rows", getRows());
@@ -137,6 +486,10 @@ public class WorldArea {
             tiles.add(new ArrayList<>());
             for (int col = 0; col < getColumns(); col++) {
                 Tile tile = getTileAt(row, col);
+                if (tile == null) {
+                    tiles.get(row).add(null);
+                    continue;
+                }
                 Map<String, Object> tileMeta = new HashMap<>();
                 tileMeta.put("sheet", tile.getSheet().getName());
                 tileMeta.put("row", tile.getRow());
@@ -148,13 +501,13 @@ public class WorldArea {
         List<Map<String, Object>> objects = new ArrayList<>();
         for (WorldObject object : getObjects()) {
             Map<String, Object> objectMeta = new HashMap<>();
-            objectMeta.put("type", object.getClass());
+            objectMeta.put("type", object.getType());
             objectMeta.put("x", object.getX());
             objectMeta.put("y", object.getY());
             objects.add(objectMeta);
         }
         metadata.put("objects", objects);
-        saveMetadata(metadata, metadataFile);
+        saveMetadata(metadata, file);
     }
 
 }
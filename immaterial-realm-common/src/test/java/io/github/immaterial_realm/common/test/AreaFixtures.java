@@ -0,0 +1,85 @@
+package io.github.immaterial_realm.common.test;
+
+import io.github.alyphen.immaterial_realm.common.object.WorldObject;
+import io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory;
+import io.github.alyphen.immaterial_realm.common.object.WorldObjectInitializer;
+import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.github.alyphen.immaterial_realm.common.tile.Tile;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+import io.github.alyphen.immaterial_realm.common.util.ImageUtils;
+import io.github.alyphen.immaterial_realm.common.world.World;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static io.github.alyphen.immaterial_realm.common.util.FileUtils.saveMetadata;
+
+public class AreaFixtures {
+
+    private AreaFixtures() {}
+
+    public static TileSheet createTileSheet(String name) throws IOException {
+        return TileSheet.load(name, ImageUtils.toByteArray(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB)), 8, 8);
+    }
+
+    public static void registerObjectType(String name) {
+        WorldObjectFactory.registerObjectInitializer(name, new WorldObjectInitializer() {
+
+            @Override
+            public String getObjectName() {
+                return name;
+            }
+
+            @Override
+            public Sprite getObjectSprite() {
+                return null;
+            }
+
+            @Override
+            public Rectangle getObjectBounds() {
+                return new Rectangle(0, 0, 8, 8);
+            }
+
+            @Override
+            public WorldObject initialize(long id) {
+                return new WorldObject(id, getObjectName(), getObjectSprite(), getObjectBounds());
+            }
+
+        });
+    }
+
+    @SafeVarargs
+    public static WorldArea createArea(File directory, String name, int rows, int cols, BiFunction<Integer, Integer, Tile> tiles, Map<String, Object>... objects) throws IOException {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("name", name);
+        metadata.put("rows", rows);
+        metadata.put("cols", cols);
+        List<List<Map<String, Object>>> tileRows = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            List<Map<String, Object>> tileRow = new ArrayList<>();
+            for (int col = 0; col < cols; col++) {
+                Tile tile = tiles.apply(row, col);
+                Map<String, Object> tileMeta = null;
+                if (tile != null) {
+                    tileMeta = new HashMap<>();
+                    tileMeta.put("sheet", tile.getSheet().getName());
+                    tileMeta.put("row", tile.getRow());
+                    tileMeta.put("col", tile.getColumn());
+                }
+                tileRow.add(tileMeta);
+            }
+            tileRows.add(tileRow);
+        }
+        metadata.put("tiles", tileRows);
+        metadata.put("objects", new ArrayList<>(Arrays.asList(objects)));
+        saveMetadata(metadata, new File(directory, "area.json"));
+        return WorldArea.load(World.create(name), directory);
+    }
+
+}
@@ -0,0 +1,147 @@
+package io.github.immaterial_realm.common.test;
+
+import com.insightfullogic.lambdabehave.JunitSuiteRunner;
+import io.github.alyphen.immaterial_realm.common.control.Control;
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.github.alyphen.immaterial_realm.common.packet.PacketRegistry;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.entity.PacketEntityMove;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.object.PacketSendObjectType;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.player.PacketSendPlayers;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.asset.PacketRequestAssets;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.control.PacketControlPressed;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.login.PacketLoginDetails;
+import io.github.alyphen.immaterial_realm.common.packet.world.PacketSendAreaChunk;
+import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.github.alyphen.immaterial_realm.common.tile.Tile;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+import io.github.alyphen.immaterial_realm.common.util.ImageUtils;
+import io.github.alyphen.immaterial_realm.common.world.Direction;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.CorruptedFrameException;
+import org.junit.runner.RunWith;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.insightfullogic.lambdabehave.Suite.describe;
+import static io.github.alyphen.immaterial_realm.common.util.ByteBufUtils.*;
+import static io.github.alyphen.immaterial_realm.common.world.WorldArea.CHUNK_SIZE;
+
+@RunWith(JunitSuiteRunner.class)
+public class PacketCodecTests {
+
+    public PacketCodecTests() {
+        describe("a packet", it -> {
+            it.should("have the same fields when encoded and decoded", expect -> {
+                PacketEntityMove decoded = (PacketEntityMove) roundTrip(new PacketEntityMove(42, Direction.LEFT, "default", -16, 300, -2, 0));
+                expect.that(decoded.getEntityId()).is(42L);
+                expect.that(decoded.getDirectionFacing()).is(Direction.LEFT);
+                expect.that(decoded.getAreaName()).is("default");
+                expect.that(decoded.getX()).is(-16);
+                expect.that(decoded.getY()).is(300);
+                expect.that(decoded.getHorizontalSpeed()).is(-2);
+                expect.that(decoded.getVerticalSpeed()).is(0);
+            });
+            it.should("preserve null strings and byte arrays", expect -> {
+                PacketLoginDetails decoded = (PacketLoginDetails) roundTrip(new PacketLoginDetails(null, new byte[] {1, 2, 3}, true));
+                expect.that(decoded.getPlayerName() == null).is(true);
+                expect.that(Arrays.equals(decoded.getEncryptedPassword(), new byte[] {1, 2, 3})).is(true);
+                expect.that(decoded.isSignUp()).is(true);
+            });
+            it.should("reference sprites by content hash", expect -> {
+                Sprite sprite = new Sprite(4, new BufferedImage(8, 12, BufferedImage.TYPE_INT_ARGB), new BufferedImage(8, 12, BufferedImage.TYPE_INT_ARGB));
+                PacketSendObjectType decoded = (PacketSendObjectType) roundTrip(new PacketSendObjectType("chest", sprite, new Rectangle(0, 4, 8, 8)));
+                expect.that(decoded.getSpriteHash()).is(sprite.getHash());
+                expect.that(decoded.getBounds()).is(new Rectangle(0, 4, 8, 8));
+            });
+            it.should("reject an element count larger than the rest of the frame", expect -> {
+                ByteBuf buf = Unpooled.buffer();
+                writeVarInt(buf, Integer.MAX_VALUE);
+                expect.exception(CorruptedFrameException.class, () -> new PacketRequestAssets(buf));
+                buf.clear();
+                writeVarInt(buf, -1);
+                expect.exception(CorruptedFrameException.class, () -> new PacketSendPlayers(buf));
+                buf.release();
+            });
+            it.should("reject an enum ordinal that is out of range", expect -> {
+                ByteBuf buf = Unpooled.buffer();
+                writeVarInt(buf, Control.values().length);
+                expect.exception(CorruptedFrameException.class, () -> new PacketControlPressed(buf));
+                buf.clear();
+                writeVarLong(buf, 42);
+                writeVarInt(buf, -1);
+                expect.exception(CorruptedFrameException.class, () -> new PacketEntityMove(buf));
+                buf.release();
+            });
+        });
+        describe("an area chunk", it -> {
+            it.should("run-length encode uniform chunks and deflate noisy ones", expect -> {
+                TileSheet sheet = TileSheet.load("chunk-codec-test", ImageUtils.toByteArray(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB)), 8, 8);
+                Tile[] uniformTiles = new Tile[CHUNK_SIZE * CHUNK_SIZE];
+                Tile[] mixedTiles = new Tile[CHUNK_SIZE * CHUNK_SIZE];
+                Random random = new Random(7);
+                for (int i = 0; i < uniformTiles.length; i++) {
+                    uniformTiles[i] = sheet.getTile(0, 0);
+                    mixedTiles[i] = random.nextInt(4) == 0 ? null : sheet.getTile(random.nextInt(2), random.nextInt(2));
+                }
+                expect.that(encodedSize(new PacketSendAreaChunk("default", "default", 0, 0, uniformTiles)) < 64).is(true);
+                expect.that(encodedSize(new PacketSendAreaChunk("default", "default", 0, 0, mixedTiles)) < CHUNK_SIZE * CHUNK_SIZE).is(true);
+                PacketSendAreaChunk decoded = (PacketSendAreaChunk) roundTrip(new PacketSendAreaChunk("default", "default", 2, 3, mixedTiles));
+                expect.that(decoded.getChunkRow()).is(2);
+                expect.that(decoded.getChunkColumn()).is(3);
+                expect.that(Arrays.equals(decoded.getTiles(), mixedTiles)).is(true);
+            });
+        });
+        describe("a sprite", it -> {
+            it.should("keep its metadata and hash when serialised without decoding the sheet", expect -> {
+                Sprite sprite = new Sprite(4, new BufferedImage(8, 12, BufferedImage.TYPE_INT_ARGB), new BufferedImage(8, 12, BufferedImage.TYPE_INT_ARGB));
+                Sprite decoded = Sprite.fromByteArray(sprite.toByteArray());
+                expect.that(decoded.getFrameCount()).is(2);
+                expect.that(decoded.getFrameDelay()).is(4);
+                expect.that(decoded.getWidth()).is(8);
+                expect.that(decoded.getHeight()).is(12);
+                expect.that(decoded.getHash()).is(sprite.getHash());
+                expect.that(decoded.getFrames().length).is(2);
+                expect.that(decoded.copy().getFrames() == decoded.getFrames()).is(true);
+            });
+        });
+        describe("a varint", it -> {
+            it.should("read back the value that was written", expect -> {
+                ByteBuf buf = Unpooled.buffer();
+                int[] values = {0, 1, 127, 128, 300, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+                for (int value : values) {
+                    writeVarInt(buf, value);
+                    writeSignedVarInt(buf, value);
+                    writeVarLong(buf, value);
+                }
+                for (int value : values) {
+                    expect.that(readVarInt(buf)).is(value);
+                    expect.that(readSignedVarInt(buf)).is(value);
+                    expect.that(readVarLong(buf)).is((long) value);
+                }
+                buf.release();
+            });
+        });
+    }
+
+    private int encodedSize(Packet packet) {
+        ByteBuf buf = Unpooled.buffer();
+        packet.write(buf);
+        int size = buf.readableBytes();
+        buf.release();
+        return size;
+    }
+
+    private Packet roundTrip(Packet packet) {
+        ByteBuf buf = Unpooled.buffer();
+        writeVarInt(buf, PacketRegistry.getId(packet));
+        packet.write(buf);
+        Packet decoded = PacketRegistry.read(readVarInt(buf), buf);
+        buf.release();
+        return decoded;
+    }
+
+}
@@ -0,0 +1,67 @@
+package io.github.immaterial_realm.common.test;
+
+import com.insightfullogic.lambdabehave.JunitSuiteRunner;
+import io.github.alyphen.immaterial_realm.common.world.Locatable;
+import io.github.alyphen.immaterial_realm.common.world.SpatialGrid;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.insightfullogic.lambdabehave.Suite.describe;
+
+@RunWith(JunitSuiteRunner.class)
+public class SpatialGridTests {{
+    describe("a spatial grid", it -> {
+        it.should("only return items within the queried radius", expect -> {
+            SpatialGrid<Point> grid = new SpatialGrid<>(64);
+            Point near = new Point(10, 10);
+            Point edge = new Point(-100, 0);
+            Point far = new Point(500, 500);
+            grid.add(near);
+            grid.add(edge);
+            grid.add(far);
+            List<Point> results = grid.getInRadius(0, 0, 100, new ArrayList<>());
+            expect.that(results.size()).is(2);
+            expect.that(results.contains(near)).is(true);
+            expect.that(results.contains(edge)).is(true);
+        });
+        it.should("find items in their new cell after they move", expect -> {
+            SpatialGrid<Point> grid = new SpatialGrid<>(64);
+            Point point = new Point(0, 0);
+            grid.add(point);
+            point.x = 1000;
+            point.y = -1000;
+            expect.that(grid.move(point, 0, 0)).is(true);
+            expect.that(grid.move(point, 1000, -1000)).is(false);
+            expect.that(grid.getInRectangle(-10, -10, 20, 20, new ArrayList<>()).isEmpty()).is(true);
+            expect.that(grid.getInRectangle(990, -1010, 20, 20, new ArrayList<>()).contains(point)).is(true);
+            grid.remove(point);
+            expect.that(grid.getInRectangle(990, -1010, 20, 20, new ArrayList<>()).isEmpty()).is(true);
+        });
+    });
+}
+
+    private static class Point implements Locatable {
+
+        private int x;
+        private int y;
+
+        private Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+    }
+
+}
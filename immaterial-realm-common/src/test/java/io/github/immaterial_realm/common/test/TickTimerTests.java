@@ -0,0 +1,62 @@
+package io.github.immaterial_realm.common.test;
+
+import com.insightfullogic.lambdabehave.JunitSuiteRunner;
+import io.github.alyphen.immaterial_realm.common.tick.TickTimeout;
+import io.github.alyphen.immaterial_realm.common.tick.TickTimer;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.insightfullogic.lambdabehave.Suite.describe;
+
+@RunWith(JunitSuiteRunner.class)
+public class TickTimerTests {
+
+    public TickTimerTests() {
+        describe("a tick timer", it -> {
+            it.should("fire a timeout on the tick it was scheduled for", expect -> {
+                TickTimer timer = new TickTimer(8);
+                List<Long> fired = new ArrayList<>();
+                timer.schedule(() -> fired.add(timer.getCurrentTick()), 3);
+                timer.schedule(() -> fired.add(timer.getCurrentTick()), 20);
+                for (int i = 0; i < 30; i++) {
+                    timer.tick();
+                }
+                expect.that(fired).is(listOf(3L, 20L));
+                expect.that(timer.getPendingTimeouts()).is(0);
+            });
+            it.should("repeat until cancelled", expect -> {
+                TickTimer timer = new TickTimer(8);
+                List<Long> fired = new ArrayList<>();
+                TickTimeout timeout = timer.scheduleRepeating(() -> fired.add(timer.getCurrentTick()), 2, 8);
+                for (int i = 0; i < 20; i++) {
+                    timer.tick();
+                }
+                timeout.cancel();
+                for (int i = 0; i < 20; i++) {
+                    timer.tick();
+                }
+                expect.that(fired).is(listOf(2L, 10L, 18L));
+            });
+            it.should("not fire a cancelled timeout", expect -> {
+                TickTimer timer = new TickTimer(8);
+                List<Long> fired = new ArrayList<>();
+                timer.schedule(() -> fired.add(timer.getCurrentTick()), 5).cancel();
+                for (int i = 0; i < 10; i++) {
+                    timer.tick();
+                }
+                expect.that(fired.isEmpty()).is(true);
+            });
+        });
+    }
+
+    private static List<Long> listOf(Long... values) {
+        List<Long> list = new ArrayList<>();
+        for (Long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,188 @@
+package io.github.immaterial_realm.common.test;
+
+import com.insightfullogic.lambdabehave.JunitSuiteRunner;
+import io.github.alyphen.immaterial_realm.common.object.WorldObject;
+import io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory;
+import io.github.alyphen.immaterial_realm.common.tile.Tile;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+import io.github.alyphen.immaterial_realm.common.world.AreaChangeListener;
+import io.github.alyphen.immaterial_realm.common.world.AreaJournal;
+import io.github.alyphen.immaterial_realm.common.world.AreaSnapshot;
+import io.github.alyphen.immaterial_realm.common.world.World;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
+import org.junit.runner.RunWith;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.*;
+
+import static com.insightfullogic.lambdabehave.Suite.describe;
+import static io.github.alyphen.immaterial_realm.common.util.FileUtils.deleteDirectory;
+import static io.github.immaterial_realm.common.test.AreaFixtures.*;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+@RunWith(JunitSuiteRunner.class)
+public class WorldAreaFileTests {{
+    describe("an area file", it -> {
+        it.should("load the same tiles and objects from JSON and from the binary format", expect -> {
+            TileSheet sheet = createTileSheet("area-file-test");
+            registerObjectType("area-file-test-crate");
+            File directory = Files.createTempDirectory("area-file-test").toFile();
+            try {
+                Map<String, Object> crate = new HashMap<>();
+                crate.put("type", "area-file-test-crate");
+                crate.put("x", 5);
+                crate.put("y", 7);
+                WorldArea imported = createArea(directory, "test", 2, 3, (row, col) -> sheet.getTile(row, col % 2), crate);
+                expect.that(new File(directory, "area.bin").exists()).is(true);
+                WorldArea loaded = WorldArea.load(World.create("test"), directory);
+                expect.that(loaded.getName()).is("test");
+                expect.that(loaded.getRows()).is(2);
+                expect.that(loaded.getColumns()).is(3);
+                for (int row = 0; row < 2; row++) {
+                    for (int col = 0; col < 3; col++) {
+                        expect.that(loaded.getTileAt(row, col) == sheet.getTile(row, col % 2)).is(true);
+                        expect.that(loaded.getTileAt(row, col) == imported.getTileAt(row, col)).is(true);
+                    }
+                }
+                expect.that(loaded.getPalette().size()).is(5);
+                expect.that(loaded.getObjects().size()).is(1);
+                expect.that(loaded.getObjects().get(0).getType()).is("area-file-test-crate");
+                expect.that(loaded.getObjects().get(0).getX()).is(5);
+                expect.that(loaded.getObjects().get(0).getY()).is(7);
+            } finally {
+                deleteDirectory(directory);
+            }
+        });
+
+        it.should("load chunks on demand and evict only unmodified chunks", expect -> {
+            TileSheet sheet = createTileSheet("area-chunk-test");
+            File directory = Files.createTempDirectory("area-chunk-test").toFile();
+            try {
+                createArea(directory, "chunked", 40, 70, (row, col) -> sheet.getTile(row % 2, col % 2));
+                WorldArea area = WorldArea.load(World.create("chunked"), directory);
+                expect.that(area.getChunkRows()).is(2);
+                expect.that(area.getChunkColumns()).is(3);
+                expect.that(area.getLoadedChunkCount()).is(0);
+                expect.that(area.getTileAt(39, 69) == sheet.getTile(1, 1)).is(true);
+                expect.that(area.isChunkLoaded(1, 2)).is(true);
+                expect.that(area.getLoadedChunkCount()).is(1);
+                area.setTileAt(0, 0, sheet.getTile(1, 1));
+                expect.that(area.evictChunks(0)).is(1);
+                expect.that(area.isChunkLoaded(0, 0)).is(true);
+                area.save(directory);
+                expect.that(area.evictChunks(0)).is(1);
+                expect.that(area.getLoadedChunkCount()).is(0);
+                expect.that(area.getTileAt(0, 0) == sheet.getTile(1, 1)).is(true);
+                expect.that(area.getTileAt(0, 1) == sheet.getTile(0, 1)).is(true);
+            } finally {
+                deleteDirectory(directory);
+            }
+        });
+
+        it.should("save a snapshot without the changes made after it was taken", expect -> {
+            TileSheet sheet = createTileSheet("area-snapshot-test");
+            File directory = Files.createTempDirectory("area-snapshot-test").toFile();
+            try {
+                WorldArea area = createArea(directory, "snapshot", 1, 2, (row, col) -> sheet.getTile(0, 0));
+                expect.that(area.isDirty()).is(false);
+                area.setTileAt(0, 0, sheet.getTile(1, 1));
+                expect.that(area.isDirty()).is(true);
+                AreaSnapshot snapshot = area.createSnapshot(directory);
+                expect.that(area.isDirty()).is(false);
+                area.setTileAt(0, 1, sheet.getTile(1, 0));
+                snapshot.save();
+                area.finishSave(snapshot);
+                expect.that(area.isDirty()).is(true);
+                expect.that(area.getTileAt(0, 1) == sheet.getTile(1, 0)).is(true);
+                WorldArea saved = WorldArea.load(World.create("snapshot"), directory);
+                expect.that(saved.getTileAt(0, 0) == sheet.getTile(1, 1)).is(true);
+                expect.that(saved.getTileAt(0, 1) == sheet.getTile(0, 0)).is(true);
+            } finally {
+                deleteDirectory(directory);
+            }
+        });
+
+        it.should("replay journalled changes newer than the snapshot and drop a torn record", expect -> {
+            TileSheet sheet = createTileSheet("area-journal-test");
+            File directory = Files.createTempDirectory("area-journal-test").toFile();
+            try {
+                WorldArea area = createArea(directory, "journal", 1, 3, (row, col) -> sheet.getTile(0, 0));
+                File journalFile = AreaJournal.getJournalFile(directory);
+                area.setChangeListener(new TileJournal(journalFile));
+                area.setTileAt(0, 0, sheet.getTile(1, 1));
+                area.save(directory);
+                area.setTileAt(0, 1, sheet.getTile(1, 0));
+                area.setTileAt(0, 2, null);
+                long journalLength = journalFile.length();
+                byte[] tornRecord = AreaJournal.tileChanged(area.getSequence() + 1, 0, 0, sheet.getTile(0, 1));
+                Files.write(journalFile.toPath(), Arrays.copyOf(tornRecord, tornRecord.length - 3), APPEND);
+                WorldArea recovered = WorldArea.load(World.create("journal"), directory);
+                expect.that(recovered.getSequence()).is(1L);
+                expect.that(AreaJournal.replay(recovered, directory)).is(2);
+                expect.that(recovered.getSequence()).is(3L);
+                expect.that(recovered.getTileAt(0, 0) == sheet.getTile(1, 1)).is(true);
+                expect.that(recovered.getTileAt(0, 1) == sheet.getTile(1, 0)).is(true);
+                expect.that(recovered.getTileAt(0, 2) == null).is(true);
+                expect.that(journalFile.length()).is(journalLength);
+            } finally {
+                deleteDirectory(directory);
+            }
+        });
+
+        it.should("replay an object removal by id after an unknown object type is skipped", expect -> {
+            registerObjectType("area-object-test-barrel");
+            File directory = Files.createTempDirectory("area-object-test").toFile();
+            try {
+                WorldArea area = createArea(directory, "objects", 1, 1, (row, col) -> null);
+                area.addObject(new WorldObject(-1, "area-object-test-missing", null, new Rectangle(0, 0, 8, 8)));
+                WorldObject first = WorldObjectFactory.createObject("area-object-test-barrel");
+                WorldObject second = WorldObjectFactory.createObject("area-object-test-barrel");
+                area.addObject(first);
+                area.addObject(second);
+                area.save(directory);
+                File journalFile = AreaJournal.getJournalFile(directory);
+                Files.write(journalFile.toPath(), AreaJournal.objectRemoved(area.getSequence() + 1, second), CREATE, APPEND);
+                WorldArea recovered = WorldArea.load(World.create("objects"), directory);
+                expect.that(recovered.getObjects().size()).is(2);
+                expect.that(AreaJournal.replay(recovered, directory)).is(1);
+                expect.that(recovered.getObjects().size()).is(1);
+                expect.that(recovered.getObjects().get(0).getId()).is(first.getId());
+                expect.that(recovered.getObject(second.getId()) == null).is(true);
+            } finally {
+                deleteDirectory(directory);
+            }
+        });
+    });
+}
+
+    private static class TileJournal implements AreaChangeListener {
+
+        private final File journalFile;
+
+        private TileJournal(File journalFile) {
+            this.journalFile = journalFile;
+        }
+
+        @Override
+        public void onTileChanged(WorldArea area, long sequence, int row, int col, Tile tile) {
+            try {
+                Files.write(journalFile.toPath(), AreaJournal.tileChanged(sequence, row, col, tile), CREATE, APPEND);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        @Override
+        public void onObjectAdded(WorldArea area, long sequence, WorldObject object) {}
+
+        @Override
+        public void onObjectRemoved(WorldArea area, long sequence, WorldObject object) {}
+
+    }
+
+}
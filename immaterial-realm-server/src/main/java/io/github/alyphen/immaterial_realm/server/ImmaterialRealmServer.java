@@ -2,56 +2,66 @@ package io.github.alyphen.immaterial_realm.server;
 
 import io.github.alyphen.immaterial_realm.common.database.DatabaseManager;
 import io.github.alyphen.immaterial_realm.common.encrypt.EncryptionManager;
-import io.github.alyphen.immaterial_realm.common.entity.Entity;
 import io.github.alyphen.immaterial_realm.common.object.WorldObject;
 import io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory;
 import io.github.alyphen.immaterial_realm.common.object.WorldObjectInitializer;
-import io.github.alyphen.immaterial_realm.common.packet.clientbound.entity.PacketEntityMove;
 import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
 import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+import io.github.alyphen.immaterial_realm.common.util.AssetMode;
 import io.github.alyphen.immaterial_realm.common.util.FileUtils;
 import io.github.alyphen.immaterial_realm.common.world.World;
+import io.github.alyphen.immaterial_realm.server.asset.AssetManager;
 import io.github.alyphen.immaterial_realm.server.character.CharacterManager;
 import io.github.alyphen.immaterial_realm.server.chat.ChatManager;
 import io.github.alyphen.immaterial_realm.server.network.NetworkManager;
+import io.github.alyphen.immaterial_realm.server.script.ObjectScript;
+import io.github.alyphen.immaterial_realm.server.script.ScriptManager;
+import io.github.alyphen.immaterial_realm.server.script.ScriptedWorldObject;
+import io.github.alyphen.immaterial_realm.server.tick.TickManager;
+import io.github.alyphen.immaterial_realm.server.world.AutosaveManager;
+import io.github.alyphen.immaterial_realm.server.world.JournalManager;
 
-import javax.script.Invocable;
-import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
 import java.awt.*;
 import java.io.*;
 import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.*;
 
-import static io.github.alyphen.immaterial_realm.common.util.FileUtils.read;
 import static java.nio.file.Files.copy;
 import static java.nio.file.Paths.get;
 
 public class ImmaterialRealmServer {
 
+    private AssetManager assetManager;
+    private AutosaveManager autosaveManager;
     private CharacterManager characterManager;
     private ChatManager chatManager;
     private DatabaseManager databaseManager;
     private EncryptionManager encryptionManager;
+    private JournalManager journalManager;
     private NetworkManager networkManager;
     private PlayerManager playerManager;
     private ScriptEngineManager scriptEngineManager;
+    private ScriptManager scriptManager;
+    private TickManager tickManager;
     private Logger logger;
-    private boolean running;
-    private static final long DELAY = 25L;
+    private Map<String, Object> configuration;
+    private volatile boolean running;
 
     public static void main(String[] args) {
         new ImmaterialRealmServer(39752);
     }
 
     public ImmaterialRealmServer(int port) {
+        AssetMode.setHeadless(true);
         logger = Logger.getLogger(getClass().getName());
         logger.addHandler(new FileWriterHandler());
         scriptEngineManager = new ScriptEngineManager();
+        assetManager = new AssetManager();
         databaseManager = new DatabaseManager("server");
-        characterManager = new CharacterManager(this);
         chatManager = new ChatManager();
         encryptionManager = new EncryptionManager();
         networkManager = new NetworkManager(this, port);
@@ -60,31 +70,41 @@ public class ImmaterialRealmServer {
         } catch (IOException exception) {
             exception.printStackTrace();
         }
+        loadConfiguration();
+        characterManager = new CharacterManager(this);
+        scriptManager = new ScriptManager(this);
+        tickManager = new TickManager(this);
+        autosaveManager = new AutosaveManager(this);
         try {
             TileSheet.loadTileSheets();
         } catch (IOException exception) {
             exception.printStackTrace();
         }
         File objectsDirectory = new File("./objects");
+        scriptManager.watch(objectsDirectory);
         for (File objectDirectory : objectsDirectory.listFiles(File::isDirectory)) {
             try {
                 File propertiesFile = new File(objectDirectory, "object.json");
                 Map<String, Object> properties = FileUtils.loadMetadata(propertiesFile);
                 WorldObjectFactory.registerObjectInitializer((String) properties.get("name"), new WorldObjectInitializer() {
 
+                    private Sprite sprite;
+
                     @Override
                     public String getObjectName() {
                         return (String) properties.get("name");
                     }
 
                     @Override
-                    public Sprite getObjectSprite() {
-                        try {
-                            return Sprite.load(new File(objectDirectory, "sprite"));
-                        } catch (IOException exception) {
-                            exception.printStackTrace();
+                    public synchronized Sprite getObjectSprite() {
+                        if (sprite == null) {
+                            try {
+                                sprite = Sprite.load(new File(objectDirectory, "sprite"));
+                            } catch (IOException exception) {
+                                exception.printStackTrace();
+                            }
                         }
-                        return null;
+                        return sprite;
                     }
 
                     @Override
@@ -94,105 +114,13 @@ public class ImmaterialRealmServer {
 
                     @Override
                     public WorldObject initialize(long id) {
-                        return new WorldObject(id, getObjectName(), getObjectSprite(), getObjectBounds()) {
-
-                            {
-                                File jsFile = new File(objectDirectory, "object.js");
-                                File rbFile = new File(objectDirectory, "object.rb");
-                                File pyFile = new File(objectDirectory, "object.py");
-                                if (jsFile.exists()) {
-                                    try {
-                                        ScriptEngine engine = getScriptEngineManager().getEngineByExtension("js");
-                                        engine.eval(read(jsFile));
-                                        ((Invocable) engine).invokeFunction("create");
-                                    } catch (ScriptException | FileNotFoundException exception) {
-                                        exception.printStackTrace();
-                                    } catch (NoSuchMethodException ignored) {}
-                                } else if (rbFile.exists()) {
-                                    try {
-                                        ScriptEngine engine = getScriptEngineManager().getEngineByExtension("rb");
-                                        engine.eval(read(rbFile));
-                                        ((Invocable) engine).invokeFunction("create");
-                                    } catch (ScriptException | FileNotFoundException exception) {
-                                        exception.printStackTrace();
-                                    } catch (NoSuchMethodException ignored) {}
-                                } else if (pyFile.exists()) {
-                                    try {
-                                        ScriptEngine engine = getScriptEngineManager().getEngineByExtension("py");
-                                        engine.eval(read(pyFile));
-                                        ((Invocable) engine).invokeFunction("create");
-                                    } catch (ScriptException | FileNotFoundException exception) {
-                                        exception.printStackTrace();
-                                    } catch (NoSuchMethodException ignored) {}
-                                }
-                            }
-
-                            @Override
-                            public void onInteract() {
-                                File jsFile = new File(objectDirectory, "object.js");
-                                File rbFile = new File(objectDirectory, "object.rb");
-                                File pyFile = new File(objectDirectory, "object.py");
-                                if (jsFile.exists()) {
-                                    try {
-                                        ScriptEngine engine = getScriptEngineManager().getEngineByExtension("js");
-                                        engine.eval(read(jsFile));
-                                        ((Invocable) engine).invokeFunction("interact");
-                                    } catch (ScriptException | FileNotFoundException exception) {
-                                        exception.printStackTrace();
-                                    } catch (NoSuchMethodException ignored) {}
-                                } else if (rbFile.exists()) {
-                                    try {
-                                        ScriptEngine engine = getScriptEngineManager().getEngineByExtension("rb");
-                                        engine.eval(read(rbFile));
-                                        ((Invocable) engine).invokeFunction("interact");
-                                    } catch (ScriptException | FileNotFoundException exception) {
-                                        exception.printStackTrace();
-                                    } catch (NoSuchMethodException ignored) {}
-                                } else if (pyFile.exists()) {
-                                    try {
-                                        ScriptEngine engine = getScriptEngineManager().getEngineByExtension("py");
-                                        engine.eval(read(pyFile));
-                                        ((Invocable) engine).invokeFunction("interact");
-                                    } catch (ScriptException | FileNotFoundException exception) {
-                                        exception.printStackTrace();
-                                    } catch (NoSuchMethodException ignored) {}
-                                }
-                            }
-
-                            @Override
-                            public void onTick() {
-                                super.onTick();
-                                File jsFile = new File(objectDirectory, "object.js");
-                                File rbFile = new File(objectDirectory, "object.rb");
-                                File pyFile = new File(objectDirectory, "object.py");
-                                if (jsFile.exists()) {
-                                    try {
-                                        ScriptEngine engine = getScriptEngineManager().getEngineByExtension("js");
-                                        engine.eval(read(jsFile));
-                                        ((Invocable) engine).invokeFunction("tick");
-                                    } catch (ScriptException | FileNotFoundException exception) {
-                                        exception.printStackTrace();
-                                    } catch (NoSuchMethodException ignored) {}
-                                } else if (rbFile.exists()) {
-                                    try {
-                                        ScriptEngine engine = getScriptEngineManager().getEngineByExtension("rb");
-                                        engine.eval(read(rbFile));
-                                        ((Invocable) engine).invokeFunction("tick");
-                                    } catch (ScriptException | FileNotFoundException exception) {
-                                        exception.printStackTrace();
-                                    } catch (NoSuchMethodException ignored) {}
-                                } else if (pyFile.exists()) {
-                                    try {
-                                        ScriptEngine engine = getScriptEngineManager().getEngineByExtension("py");
-                                        engine.eval(read(pyFile));
-                                        ((Invocable) engine).invokeFunction("tick");
-                                    } catch (ScriptException | FileNotFoundException exception) {
-                                        exception.printStackTrace();
-                                    } catch (NoSuchMethodException ignored) {}
-                                }
-                            }
-
-                        };
+                        ObjectScript script = getScriptManager().getObjectScript(getObjectName(), objectDirectory, (List<String>) properties.get("hooks"));
+                        if (script == null) {
+                            WorldObject object = new WorldObject(id, getObjectName(), getObjectSprite(), getObjectBounds());
+                            object.setTicking(false);
+                            return object;
+                        }
+                        return new ScriptedWorldObject(id, getObjectName(), getObjectSprite(), getObjectBounds(), script);
                     }
 
                 });
@@ -209,10 +137,21 @@ public class ImmaterialRealmServer {
                 exception.printStackTrace();
             }
         }
+        journalManager = new JournalManager(this);
+        journalManager.recover();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeJournal, "journal-shutdown"));
         new Thread(networkManager::start).start();
         playerManager = new PlayerManager(this);
     }
 
+    public AssetManager getAssetManager() {
+        return assetManager;
+    }
+
+    public AutosaveManager getAutosaveManager() {
+        return autosaveManager;
+    }
+
     public CharacterManager getCharacterManager() {
         return characterManager;
     }
@@ -229,6 +168,10 @@ public class ImmaterialRealmServer {
         return encryptionManager;
     }
 
+    public JournalManager getJournalManager() {
+        return journalManager;
+    }
+
     public NetworkManager getNetworkManager() {
         return networkManager;
     }
@@ -241,6 +184,43 @@ public class ImmaterialRealmServer {
         return scriptEngineManager;
     }
 
+    public ScriptManager getScriptManager() {
+        return scriptManager;
+    }
+
+    public TickManager getTickManager() {
+        return tickManager;
+    }
+
+    public Map<String, Object> getConfiguration() {
+        return configuration;
+    }
+
+    public int getConfigurationInt(String key, int defaultValue) {
+        Object value = configuration.get(key);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    public boolean getConfigurationBoolean(String key, boolean defaultValue) {
+        Object value = configuration.get(key);
+        return value instanceof Boolean ? (boolean) value : defaultValue;
+    }
+
+    public String getConfigurationString(String key, String defaultValue) {
+        Object value = configuration.get(key);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    private void loadConfiguration() {
+        File configFile = new File("./config/server.json");
+        try {
+            configuration = FileUtils.loadMetadata(configFile);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+        if (configuration == null) configuration = new HashMap<>();
+    }
+
     private void saveDefaults() throws IOException {
         saveDefaultConfiguration();
         saveDefaultTileSheets();
@@ -302,21 +282,15 @@ public class ImmaterialRealmServer {
 
     public void run() {
         setRunning(true);
-        long beforeTime, timeDiff, sleep;
-        beforeTime = System.currentTimeMillis();
-        while (isRunning()) {
-            doTick();
-            timeDiff = System.currentTimeMillis() - beforeTime;
-            sleep = DELAY - timeDiff;
-            if (sleep < 0) {
-                sleep = 2;
-            }
-            try {
-                Thread.sleep(sleep);
-            } catch (InterruptedException exception) {
-                exception.printStackTrace();
-            }
-            beforeTime = System.currentTimeMillis();
+        getTickManager().run();
+        closeJournal();
+    }
+
+    private void closeJournal() {
+        try {
+            getJournalManager().close();
+        } catch (InterruptedException exception) {
+            exception.printStackTrace();
         }
     }
 
@@ -329,10 +303,14 @@ public class ImmaterialRealmServer {
     }
 
     public void doTick() {
-        World.getWorlds().stream().forEach(world -> {
-            world.onTick();
-            world.getAreas().stream().forEach(area -> area.getEntities().stream().filter(Entity::isSpeedChanged).forEach(entity -> getNetworkManager().broadcastPacket(new PacketEntityMove(entity.getId(), entity.getDirectionFacing(), area.getName(), entity.getX(), entity.getY(), entity.getHorizontalSpeed(), entity.getVerticalSpeed()))));
-        });
+        getScriptManager().getProfiler().startTick();
+        getTickManager().runQueuedTasks();
+        getTickManager().tickAreas();
+        getNetworkManager().broadcastEntityMoves();
+        getAutosaveManager().onTick();
+        getNetworkManager().streamChunks();
+        getTickManager().evictChunks();
+        getNetworkManager().flushPackets();
     }
 
     public Logger getLogger() {
@@ -0,0 +1,48 @@
+package io.github.alyphen.immaterial_realm.server.asset;
+
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.character.PacketSendSpriteSet;
+import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AssetManager {
+
+    private Map<String, byte[]> assets = new ConcurrentHashMap<>();
+    private Map<String, Integer> spriteSetIds = new ConcurrentHashMap<>();
+    private Map<Integer, PacketSendSpriteSet> spriteSets = new ConcurrentHashMap<>();
+    private AtomicInteger nextSpriteSetId = new AtomicInteger();
+
+    public String register(Sprite sprite) {
+        assets.computeIfAbsent(sprite.getHash(), hash -> sprite.toByteArray());
+        return sprite.getHash();
+    }
+
+    public String register(TileSheet tileSheet) {
+        assets.putIfAbsent(tileSheet.getHash(), tileSheet.getEncodedSheet());
+        return tileSheet.getHash();
+    }
+
+    public byte[] getAsset(String hash) {
+        return assets.get(hash);
+    }
+
+    public int registerSpriteSet(Sprite walkUpSprite, Sprite walkDownSprite, Sprite walkLeftSprite, Sprite walkRightSprite) {
+        String walkUpSpriteHash = register(walkUpSprite);
+        String walkDownSpriteHash = register(walkDownSprite);
+        String walkLeftSpriteHash = register(walkLeftSprite);
+        String walkRightSpriteHash = register(walkRightSprite);
+        return spriteSetIds.computeIfAbsent(walkUpSpriteHash + "/" + walkDownSpriteHash + "/" + walkLeftSpriteHash + "/" + walkRightSpriteHash, key -> {
+            int id = nextSpriteSetId.getAndIncrement();
+            spriteSets.put(id, new PacketSendSpriteSet(id, walkUpSpriteHash, walkDownSpriteHash, walkLeftSpriteHash, walkRightSpriteHash));
+            return id;
+        });
+    }
+
+    public PacketSendSpriteSet getSpriteSet(int id) {
+        return spriteSets.get(id);
+    }
+
+}
@@ -0,0 +1,33 @@
+package io.github.alyphen.immaterial_realm.server.character;
+
+public class CharacterLocation {
+
+    private final long characterId;
+    private final String areaName;
+    private final int x;
+    private final int y;
+
+    public CharacterLocation(long characterId, String areaName, int x, int y) {
+        this.characterId = characterId;
+        this.areaName = areaName;
+        this.x = x;
+        this.y = y;
+    }
+
+    public long getCharacterId() {
+        return characterId;
+    }
+
+    public String getAreaName() {
+        return areaName;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+}
@@ -1,27 +1,52 @@
 package io.github.alyphen.immaterial_realm.server.character;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.github.alyphen.immaterial_realm.common.character.Character;
 import io.github.alyphen.immaterial_realm.common.player.Player;
 import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.github.alyphen.immaterial_realm.common.util.DirectoryWatcher;
 import io.github.alyphen.immaterial_realm.common.util.FileUtils;
 import io.github.alyphen.immaterial_realm.server.ImmaterialRealmServer;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import static java.nio.file.Files.copy;
 import static java.nio.file.Paths.get;
 
 public class CharacterManager {
 
+    private static final File CHARACTERS_DIRECTORY = new File("./characters");
+    private static final String[] SPRITE_NAMES = {"walk_up", "walk_down", "walk_left", "walk_right"};
+
     private ImmaterialRealmServer server;
+    private LoadingCache<String, Sprite> sprites;
+    private Map<String, Sprite> defaultSprites = new ConcurrentHashMap<>();
+    private DirectoryWatcher watcher;
 
     public CharacterManager(ImmaterialRealmServer server) {
         this.server = server;
+        sprites = CacheBuilder.newBuilder()
+                .maximumSize(server.getConfigurationInt("character-sprite-cache-size", 1024))
+                .build(new CacheLoader<String, Sprite>() {
+                    @Override
+                    public Sprite load(String key) throws IOException {
+                        return loadSprite(key);
+                    }
+                });
         try {
             createCharactersTable();
         } catch (SQLException exception) {
@@ -32,6 +57,12 @@ public class CharacterManager {
         } catch (IOException exception) {
             exception.printStackTrace();
         }
+        try {
+            watcher = new DirectoryWatcher(CHARACTERS_DIRECTORY.toPath(), this::onFileChanged);
+            watcher.start("character-sprite-watcher");
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
     }
 
     public void createCharactersTable() throws SQLException {
@@ -58,59 +89,49 @@ public class CharacterManager {
     }
 
     public Sprite getWalkUpSprite(Character character) {
-        File walkUpSpriteFile = new File("./characters/" + character.getId() + "/walk_up");
-        if (walkUpSpriteFile.exists()) {
-            try {
-                return Sprite.load(walkUpSpriteFile);
-            } catch (IOException exception) {
-                exception.printStackTrace();
-            }
-        } else {
-            return getDefaultWalkUpSprite();
-        }
-        return null;
+        return getSprite(character, "walk_up");
     }
 
     public Sprite getWalkDownSprite(Character character) {
-        File walkDownSpriteFile = new File("./characters/" + character.getId() + "/walk_down");
-        if (walkDownSpriteFile.exists()) {
-            try {
-                return Sprite.load(walkDownSpriteFile);
-            } catch (IOException exception) {
-                exception.printStackTrace();
-            }
-        } else {
-            return getDefaultWalkDownSprite();
-        }
-        return null;
+        return getSprite(character, "walk_down");
     }
 
     public Sprite getWalkLeftSprite(Character character) {
-        File walkLeftSpriteFile = new File("./characters/" + character.getId() + "/walk_left");
-        if (walkLeftSpriteFile.exists()) {
-            try {
-                return Sprite.load(walkLeftSpriteFile);
-            } catch (IOException exception) {
-                exception.printStackTrace();
-            }
-        } else {
-            return getDefaultWalkLeftSprite();
+        return getSprite(character, "walk_left");
+    }
+
+    public Sprite getWalkRightSprite(Character character) {
+        return getSprite(character, "walk_right");
+    }
+
+    private Sprite getSprite(Character character, String name) {
+        try {
+            return sprites.get(character.getId() + "/" + name);
+        } catch (ExecutionException | UncheckedExecutionException exception) {
+            exception.printStackTrace();
         }
         return null;
     }
 
-    public Sprite getWalkRightSprite(Character character) {
-        File walkRightSpriteFile = new File("./characters/" + character.getId() + "/walk_right");
-        if (walkRightSpriteFile.exists()) {
-            try {
-                return Sprite.load(walkRightSpriteFile);
-            } catch (IOException exception) {
-                exception.printStackTrace();
-            }
+    private Sprite loadSprite(String key) throws IOException {
+        File spriteFile = new File(CHARACTERS_DIRECTORY, key);
+        if (spriteFile.exists()) return Sprite.load(spriteFile);
+        Sprite defaultSprite = getDefaultSprite(key.substring(key.indexOf('/') + 1));
+        if (defaultSprite == null) throw new FileNotFoundException("No sprite found for " + key);
+        return defaultSprite;
+    }
+
+    private void onFileChanged(Path path) {
+        Path relativePath = CHARACTERS_DIRECTORY.toPath().toAbsolutePath().relativize(path.toAbsolutePath());
+        if (relativePath.toString().isEmpty() || relativePath.getName(0).toString().equals("default")) {
+            defaultSprites.clear();
+            sprites.invalidateAll();
         } else {
-            return getDefaultWalkRightSprite();
+            String characterId = relativePath.getName(0).toString();
+            for (String name : SPRITE_NAMES) {
+                sprites.invalidate(characterId + "/" + name);
+            }
         }
-        return null;
     }
 
     public void createDefaultSprites() throws IOException {
@@ -147,51 +168,33 @@ public class CharacterManager {
     }
 
     public Sprite getDefaultWalkUpSprite() {
-        File walkUpSpriteFile = new File("./characters/default/walk_up");
-        if (walkUpSpriteFile.exists()) {
-            try {
-                return Sprite.load(walkUpSpriteFile);
-            } catch (IOException exception) {
-                exception.printStackTrace();
-            }
-        }
-        return null;
+        return getDefaultSprite("walk_up");
     }
 
     public Sprite getDefaultWalkDownSprite() {
-        File walkDownSpriteFile = new File("./characters/default/walk_down");
-        if (walkDownSpriteFile.exists()) {
-            try {
-                return Sprite.load(walkDownSpriteFile);
-            } catch (IOException exception) {
-                exception.printStackTrace();
-            }
-        }
-        return null;
+        return getDefaultSprite("walk_down");
     }
 
     public Sprite getDefaultWalkLeftSprite() {
-        File walkLeftSpriteFile = new File("./characters/default/walk_left");
-        if (walkLeftSpriteFile.exists()) {
-            try {
-                return Sprite.load(walkLeftSpriteFile);
-            } catch (IOException exception) {
-                exception.printStackTrace();
-            }
-        }
-        return null;
+        return getDefaultSprite("walk_left");
     }
 
     public Sprite getDefaultWalkRightSprite() {
-        File walkRightSpriteFile = new File("./characters/default/walk_right");
-        if (walkRightSpriteFile.exists()) {
-            try {
-                return Sprite.load(walkRightSpriteFile);
-            } catch (IOException exception) {
-                exception.printStackTrace();
+        return getDefaultSprite("walk_right");
+    }
+
+    private Sprite getDefaultSprite(String name) {
+        return defaultSprites.computeIfAbsent(name, key -> {
+            File spriteFile = new File(CHARACTERS_DIRECTORY, "default/" + key);
+            if (spriteFile.exists()) {
+                try {
+                    return Sprite.load(spriteFile);
+                } catch (IOException exception) {
+                    exception.printStackTrace();
+                }
             }
-        }
-        return null;
+            return null;
+        });
     }
 
     public Character getCharacter(long id) throws SQLException {
@@ -267,5 +270,19 @@ public class CharacterManager {
         }
     }
 
+    public void updateLocations(Collection<CharacterLocation> locations) throws SQLException {
+        Connection connection = server.getDatabaseManager().getConnection();
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE characters SET area_name = ?, x = ?, y = ? WHERE id = ?")) {
+            for (CharacterLocation location : locations) {
+                statement.setString(1, location.getAreaName());
+                statement.setInt(2, location.getX());
+                statement.setInt(3, location.getY());
+                statement.setLong(4, location.getCharacterId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
 
 }
@@ -0,0 +1,38 @@
+package io.github.alyphen.immaterial_realm.server.network;
+
+import io.github.alyphen.immaterial_realm.common.object.WorldObjectInitializer;
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.github.alyphen.immaterial_realm.common.packet.PacketEncoder;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.object.PacketSendObjectType;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.tile.PacketSendTileSheet;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class AssetPacketCache {
+
+    private final Map<String, ByteBuf> tileSheets = new HashMap<>();
+    private final Map<String, ByteBuf> objectTypes = new HashMap<>();
+
+    public synchronized ByteBuf getTileSheet(TileSheet tileSheet) {
+        return get(tileSheets, tileSheet.getName(), () -> new PacketSendTileSheet(tileSheet));
+    }
+
+    public synchronized ByteBuf getObjectType(WorldObjectInitializer initializer) {
+        return get(objectTypes, initializer.getObjectName(), () -> new PacketSendObjectType(initializer.getObjectName(), initializer.getObjectSprite(), initializer.getObjectBounds()));
+    }
+
+    private ByteBuf get(Map<String, ByteBuf> cache, String name, Supplier<Packet> packet) {
+        ByteBuf buf = cache.get(name);
+        if (buf == null) {
+            buf = PacketEncoder.encode(UnpooledByteBufAllocator.DEFAULT, packet.get());
+            cache.put(name, buf);
+        }
+        return buf.duplicate().retain();
+    }
+
+}
@@ -0,0 +1,7 @@
+package io.github.alyphen.immaterial_realm.server.network;
+
+public enum ExecutionMode {
+
+    INLINE, TICK, BLOCKING
+
+}
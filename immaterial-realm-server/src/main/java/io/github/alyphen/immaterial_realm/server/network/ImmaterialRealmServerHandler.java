@@ -1,5 +1,8 @@
 package io.github.alyphen.immaterial_realm.server.network;
 
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.hash.TLongHashSet;
 import io.github.alyphen.immaterial_realm.common.character.Character;
 import io.github.alyphen.immaterial_realm.common.chat.ChatChannel;
 import io.github.alyphen.immaterial_realm.common.entity.Entity;
@@ -8,21 +11,23 @@ import io.github.alyphen.immaterial_realm.common.entity.EntityFactory;
 import io.github.alyphen.immaterial_realm.common.object.WorldObjectFactory;
 import io.github.alyphen.immaterial_realm.common.object.WorldObjectInitializer;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.github.alyphen.immaterial_realm.common.packet.PacketEncoder;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.asset.PacketSendAsset;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.character.PacketCharacterSpawn;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketClientboundGlobalChatMessage;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketClientboundLocalChatMessage;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketSendChannel;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.chat.PacketSetChannel;
+import io.github.alyphen.immaterial_realm.common.packet.clientbound.entity.PacketEntityMove;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.entity.PacketEntitySpawn;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.login.PacketClientboundPublicKey;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.login.PacketLoginStatus;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.login.PacketVersion;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.object.PacketCreateObject;
-import io.github.alyphen.immaterial_realm.common.packet.clientbound.object.PacketSendObjectType;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.player.PacketPlayerJoin;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.player.PacketPlayerLeave;
 import io.github.alyphen.immaterial_realm.common.packet.clientbound.player.PacketSendPlayers;
-import io.github.alyphen.immaterial_realm.common.packet.clientbound.tile.PacketSendTileSheet;
+import io.github.alyphen.immaterial_realm.common.packet.serverbound.asset.PacketRequestAssets;
 import io.github.alyphen.immaterial_realm.common.packet.serverbound.chat.PacketRequestChannels;
 import io.github.alyphen.immaterial_realm.common.packet.serverbound.chat.PacketServerboundGlobalChatMessage;
 import io.github.alyphen.immaterial_realm.common.packet.serverbound.chat.PacketServerboundLocalChatMessage;
@@ -35,11 +40,15 @@ import io.github.alyphen.immaterial_realm.common.packet.serverbound.player.Packe
 import io.github.alyphen.immaterial_realm.common.packet.serverbound.tile.PacketRequestTileSheets;
 import io.github.alyphen.immaterial_realm.common.packet.world.*;
 import io.github.alyphen.immaterial_realm.common.player.Player;
-import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
 import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+import io.github.alyphen.immaterial_realm.common.world.SpatialGrid;
 import io.github.alyphen.immaterial_realm.common.world.World;
 import io.github.alyphen.immaterial_realm.common.world.WorldArea;
 import io.github.alyphen.immaterial_realm.server.ImmaterialRealmServer;
+import io.github.alyphen.immaterial_realm.server.character.CharacterManager;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerAdapter;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.group.ChannelGroup;
@@ -47,14 +56,26 @@ import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.GlobalEventExecutor;
 
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.security.GeneralSecurityException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static io.github.alyphen.immaterial_realm.common.world.Direction.*;
+import static io.github.alyphen.immaterial_realm.server.network.ExecutionMode.*;
 import static io.netty.channel.ChannelHandler.Sharable;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.logging.Level.SEVERE;
 import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
 
 @Sharable
@@ -63,221 +84,506 @@ public class ImmaterialRealmServerHandler extends ChannelHandlerAdapter {
     private ImmaterialRealmServer server;
 
     private ChannelGroup channels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private Map<Long, Channel> playerChannels = new ConcurrentHashMap<>();
+    private Map<WorldArea, ChannelGroup> areaChannels = new ConcurrentHashMap<>();
+    private Set<Channel> pendingFlushes = ConcurrentHashMap.newKeySet();
+    private int viewDistance;
+    private int chunkViewDistance;
+    private Map<Class<? extends Packet>, RegisteredHandler<?>> handlers = new HashMap<>();
+    private Executor blockingExecutor;
+    private int channelQueueSize;
+    private AssetPacketCache assetPackets = new AssetPacketCache();
+    private List<Entity> changedEntities = new ArrayList<>();
+    private TLongHashSet entitiesInView = new TLongHashSet();
+    private TLongObjectMap<ByteBuf> encodedMoves = new TLongObjectHashMap<>();
     private static final AttributeKey<Player> PLAYER = AttributeKey.valueOf("player");
     private static final AttributeKey<byte[]> PUBLIC_KEY = AttributeKey.valueOf("publicKey");
+    private static final AttributeKey<EntityCharacter> CHARACTER_ENTITY = AttributeKey.valueOf("characterEntity");
+    private static final AttributeKey<Set<Integer>> SPRITE_SETS = AttributeKey.valueOf("spriteSets");
+    private static final AttributeKey<Set<Integer>> SENT_CHUNKS = AttributeKey.valueOf("sentChunks");
+    private static final AttributeKey<Long> CENTRE_CHUNK = AttributeKey.valueOf("centreChunk");
+    private static final AttributeKey<TLongHashSet> VISIBLE_ENTITIES = AttributeKey.valueOf("visibleEntities");
+    private static final AttributeKey<Long> VIEW_CELL = AttributeKey.valueOf("viewCell");
+    private static final AttributeKey<SerialExecutor> HANDLER_EXECUTOR = AttributeKey.valueOf("handlerExecutor");
 
     public ImmaterialRealmServerHandler(ImmaterialRealmServer server) {
         this.server = server;
+        viewDistance = server.getConfigurationInt("view-distance", 0);
+        chunkViewDistance = server.getConfigurationInt("chunk-view-distance", 1);
+        blockingExecutor = createBlockingExecutor();
+        channelQueueSize = server.getConfigurationInt("blocking-handler-channel-queue-size", 64);
+        registerHandler(PacketServerboundPublicKey.class, INLINE, this::handlePublicKey);
+        registerHandler(PacketLoginDetails.class, BLOCKING, this::handleLoginDetails);
+        registerHandler(PacketRequestPlayers.class, INLINE, this::handleRequestPlayers);
+        registerHandler(PacketRequestTileSheets.class, BLOCKING, this::handleRequestTileSheets);
+        registerHandler(PacketRequestObjectTypes.class, BLOCKING, this::handleRequestObjectTypes);
+        registerHandler(PacketRequestWorlds.class, INLINE, this::handleRequestWorlds);
+        registerHandler(PacketRequestCurrentWorldArea.class, BLOCKING, this::handleRequestCurrentWorldArea);
+        registerHandler(PacketRequestAssets.class, INLINE, this::handleRequestAssets);
+        registerHandler(PacketControlPressed.class, TICK, this::handleControlPressed);
+        registerHandler(PacketControlReleased.class, TICK, this::handleControlReleased);
+        registerHandler(PacketServerboundLocalChatMessage.class, TICK, this::handleLocalChatMessage);
+        registerHandler(PacketRequestChannels.class, INLINE, this::handleRequestChannels);
+        registerHandler(PacketServerboundGlobalChatMessage.class, INLINE, this::handleGlobalChatMessage);
+    }
+
+    public <T extends Packet> void registerHandler(Class<T> packetClass, ExecutionMode mode, PacketHandler<T> handler) {
+        handlers.put(packetClass, new RegisteredHandler<>(mode, handler));
+    }
+
+    private Executor createBlockingExecutor() {
+        if (server.getConfigurationBoolean("blocking-handler-virtual-threads", false)) {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException exception) {
+                server.getLogger().warning("Virtual threads are not available on this JVM, using a thread pool for blocking handlers");
+            }
+        }
+        int threads = server.getConfigurationInt("blocking-handler-threads", 4);
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, SECONDS, new ArrayBlockingQueue<>(server.getConfigurationInt("blocking-handler-queue-size", 1024)), runnable -> {
+            Thread thread = new Thread(runnable, "blocking-handler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
     public void channelActive(ChannelHandlerContext ctx) {
         channels.add(ctx.channel());
+        ctx.channel().attr(SPRITE_SETS).set(ConcurrentHashMap.newKeySet());
+        ctx.channel().attr(HANDLER_EXECUTOR).set(new SerialExecutor(blockingExecutor, channelQueueSize));
         ctx.writeAndFlush(new PacketVersion(getClass().getPackage().getImplementationVersion()));
     }
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
-        channels.stream().filter(channel -> channel != ctx.channel()).forEach(channel -> {
-            Player player = ctx.channel().attr(PLAYER).get();
-            channel.writeAndFlush(new PacketPlayerLeave(player.getId()));
-        });
+        Player player = ctx.channel().attr(PLAYER).get();
+        if (player == null) return;
+        playerChannels.remove(player.getId(), ctx.channel());
+        broadcastPacket(new PacketPlayerLeave(player.getId()), ctx.channel());
+        EntityCharacter characterEntity = ctx.channel().attr(CHARACTER_ENTITY).getAndRemove();
+        if (characterEntity != null) {
+            server.getTickManager().queue(() -> {
+                WorldArea area = characterEntity.getArea();
+                if (area != null) {
+                    server.getAutosaveManager().onCharacterLeft(characterEntity);
+                    area.removeEntity(characterEntity);
+                    getAreaChannels(area).remove(ctx.channel());
+                }
+            });
+        }
     }
 
     @Override
-    public void channelRead(ChannelHandlerContext ctx, Object msg) throws GeneralSecurityException, SQLException, UnsupportedEncodingException {
-        System.out.println(msg.toString());
-        if (msg instanceof PacketServerboundPublicKey) {
-            PacketServerboundPublicKey packet = (PacketServerboundPublicKey) msg;
-            ctx.channel().attr(PUBLIC_KEY).set(packet.getEncodedPublicKey());
-            ctx.writeAndFlush(new PacketClientboundPublicKey(server.getEncryptionManager().getKeyPair().getPublic().getEncoded()));
-        } else if (msg instanceof PacketLoginDetails) {
-            PacketLoginDetails packet = (PacketLoginDetails) msg;
-            if (packet.isSignUp()) {
-                server.getPlayerManager().addPlayer(packet.getPlayerName(), server.getEncryptionManager().decrypt(packet.getEncryptedPassword()));
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        RegisteredHandler<?> handler = handlers.get(msg.getClass());
+        if (handler == null) {
+            server.getLogger().warning("No handler registered for " + msg.getClass().getSimpleName());
+            return;
+        }
+        try {
+            switch (handler.getMode()) {
+                case INLINE:
+                    ctx.channel().attr(HANDLER_EXECUTOR).get().executeInline(() -> handler.handle(ctx, (Packet) msg));
+                    break;
+                case TICK:
+                    server.getTickManager().queue(() -> handler.handle(ctx, (Packet) msg));
+                    break;
+                case BLOCKING:
+                    ctx.channel().attr(HANDLER_EXECUTOR).get().execute(() -> handler.handle(ctx, (Packet) msg));
+                    break;
             }
-            Player player = server.getPlayerManager().getPlayer(packet.getPlayerName());
-            if (player != null) {
-                if (server.getPlayerManager().checkLogin(player, sha256Hex(server.getEncryptionManager().decrypt(packet.getEncryptedPassword()) + server.getPlayerManager().getSalt(player)))) {
-                    ctx.channel().attr(PLAYER).set(player);
-                    ctx.writeAndFlush(new PacketLoginStatus(true));
-                    channels.stream().filter(channel -> channel != ctx.channel()).forEach(channel -> channel.writeAndFlush(new PacketPlayerJoin(player.getId(), player.getName())));
-                } else {
-                    ctx.writeAndFlush(new PacketLoginStatus(false));
-                }
+        } catch (RejectedExecutionException exception) {
+            server.getLogger().warning("Blocking handler queue is full, disconnecting " + ctx.channel().remoteAddress());
+            ctx.close();
+        }
+    }
+
+    private void handlePublicKey(ChannelHandlerContext ctx, PacketServerboundPublicKey packet) throws GeneralSecurityException {
+        ctx.channel().attr(PUBLIC_KEY).set(packet.getEncodedPublicKey());
+        ctx.writeAndFlush(new PacketClientboundPublicKey(server.getEncryptionManager().getKeyPair().getPublic().getEncoded()));
+    }
+
+    private void handleLoginDetails(ChannelHandlerContext ctx, PacketLoginDetails packet) throws GeneralSecurityException, SQLException, UnsupportedEncodingException {
+        if (packet.isSignUp()) {
+            server.getPlayerManager().addPlayer(packet.getPlayerName(), server.getEncryptionManager().decrypt(packet.getEncryptedPassword()));
+        }
+        Player player = server.getPlayerManager().getPlayer(packet.getPlayerName());
+        if (player != null) {
+            if (server.getPlayerManager().checkLogin(player, sha256Hex(server.getEncryptionManager().decrypt(packet.getEncryptedPassword()) + server.getPlayerManager().getSalt(player)))) {
+                ctx.channel().attr(PLAYER).set(player);
+                playerChannels.put(player.getId(), ctx.channel());
+                ctx.writeAndFlush(new PacketLoginStatus(true));
+                broadcastPacket(new PacketPlayerJoin(player.getId(), player.getName()), ctx.channel());
             } else {
                 ctx.writeAndFlush(new PacketLoginStatus(false));
             }
-        } else if (msg instanceof PacketRequestPlayers) {
-            ctx.writeAndFlush(new PacketSendPlayers(channels.stream().filter(channel -> channel.attr(PLAYER).get() != null).map(channel -> channel.attr(PLAYER).get()).collect(Collectors.toSet())));
-        } else if (msg instanceof PacketRequestTileSheets) {
-            for (TileSheet tileSheet : TileSheet.getTileSheets()) {
-                ctx.writeAndFlush(new PacketSendTileSheet(tileSheet.getName(), tileSheet.getSheet(), tileSheet.getTileWidth(), tileSheet.getTileHeight()));
-            }
-        } else if (msg instanceof PacketRequestObjectTypes) {
-            for (WorldObjectInitializer initializer : WorldObjectFactory.getObjectInitializers()) {
-                ctx.writeAndFlush(new PacketSendObjectType(initializer.getObjectName(), initializer.getObjectSprite(), initializer.getObjectBounds()));
-            }
-        } else if (msg instanceof PacketRequestWorlds) {
-            for (World world : World.getWorlds()) {
-                ctx.writeAndFlush(new PacketSendWorld(world.getName()));
-            }
-        } else if (msg instanceof PacketRequestCurrentWorldArea) {
-            WorldArea area = World.getWorld("default").getArea("default");
-            ctx.writeAndFlush(new PacketSendArea(area));
-            ctx.writeAndFlush(new PacketShowArea("default"));
-            area.getObjects().stream().forEach(object -> ctx.writeAndFlush(new PacketCreateObject(object.getType(), area.getWorld().getName(), area.getName(), object.getX(), object.getY())));
-            area.getEntities().stream().filter(entity -> !(entity instanceof EntityCharacter)).forEach(entity -> ctx.writeAndFlush(new PacketEntitySpawn(entity.getId(), entity.getClass(), area.getName(), entity.getX(), entity.getY())));
-            area.getEntities().stream().filter(entity -> entity instanceof EntityCharacter).forEach(entity -> {
-                EntityCharacter entityCharacter = (EntityCharacter) entity;
-                Character character = entityCharacter.getCharacter();
-                Sprite walkUpSprite = server.getCharacterManager().getWalkUpSprite(character);
-                Sprite walkDownSprite = server.getCharacterManager().getWalkDownSprite(character);
-                Sprite walkLeftSprite = server.getCharacterManager().getWalkLeftSprite(character);
-                Sprite walkRightSprite = server.getCharacterManager().getWalkRightSprite(character);
+        } else {
+            ctx.writeAndFlush(new PacketLoginStatus(false));
+        }
+    }
+
+    private void handleRequestPlayers(ChannelHandlerContext ctx, PacketRequestPlayers packet) {
+        ctx.writeAndFlush(new PacketSendPlayers(channels.stream().filter(channel -> channel.attr(PLAYER).get() != null).map(channel -> channel.attr(PLAYER).get()).collect(Collectors.toSet())));
+    }
+
+    private void handleRequestTileSheets(ChannelHandlerContext ctx, PacketRequestTileSheets packet) {
+        for (TileSheet tileSheet : TileSheet.getTileSheets()) {
+            server.getAssetManager().register(tileSheet);
+            ctx.write(assetPackets.getTileSheet(tileSheet));
+        }
+        ctx.flush();
+    }
+
+    private void handleRequestObjectTypes(ChannelHandlerContext ctx, PacketRequestObjectTypes packet) {
+        for (WorldObjectInitializer initializer : WorldObjectFactory.getObjectInitializers()) {
+            server.getAssetManager().register(initializer.getObjectSprite());
+            ctx.write(assetPackets.getObjectType(initializer));
+        }
+        ctx.flush();
+    }
+
+    private void handleRequestWorlds(ChannelHandlerContext ctx, PacketRequestWorlds packet) {
+        for (World world : World.getWorlds()) {
+            ctx.write(new PacketSendWorld(world.getName()));
+        }
+        ctx.flush();
+    }
+
+    private void handleRequestCurrentWorldArea(ChannelHandlerContext ctx, PacketRequestCurrentWorldArea packet) throws GeneralSecurityException, SQLException {
+        Player player = ctx.channel().attr(PLAYER).get();
+        if (player == null) return;
+        Character character = server.getCharacterManager().getCharacter(player);
+        if (character == null) {
+            character = new Character(player.getId(), -1);
+            server.getCharacterManager().addCharacter(character);
+            character = server.getCharacterManager().getCharacter(player);
+        }
+        Character playerCharacter = character;
+        server.getTickManager().queue(() -> {
+            WorldArea savedArea = getArea(playerCharacter.getAreaName());
+            WorldArea area = savedArea != null ? savedArea : World.getWorld("default").getArea("default");
+            PacketSendArea areaPacket = new PacketSendArea(area);
+            List<PacketCreateObject> objectPackets = area.getObjects().stream().map(object -> new PacketCreateObject(object.getType(), area.getWorld().getName(), area.getName(), object.getX(), object.getY())).collect(Collectors.toList());
+            List<PacketEntitySpawn> entityPackets = area.getEntities().stream().filter(entity -> !(entity instanceof EntityCharacter)).map(entity -> new PacketEntitySpawn(entity.getId(), entity.getClass(), area.getName(), entity.getX(), entity.getY())).collect(Collectors.toList());
+            List<EntityCharacter> characterEntities = area.getEntities().stream().filter(entity -> entity instanceof EntityCharacter).map(entity -> (EntityCharacter) entity).collect(Collectors.toList());
+            EntityCharacter entity = savedArea != null ? EntityFactory.spawn(EntityCharacter.class, area, playerCharacter.getX(), playerCharacter.getY()) : EntityFactory.spawn(EntityCharacter.class, area, 0, 0);
+            entity.setCharacter(playerCharacter);
+            ctx.channel().attr(CHARACTER_ENTITY).set(entity);
+            ctx.channel().attr(SENT_CHUNKS).set(new HashSet<>());
+            ctx.channel().attr(CENTRE_CHUNK).remove();
+            ctx.channel().attr(VIEW_CELL).remove();
+            ctx.channel().attr(VISIBLE_ENTITIES).set(new TLongHashSet());
+            ctx.write(areaPacket);
+            ChannelGroup areaGroup = getAreaChannels(area);
+            areaGroup.add(ctx.channel());
+            runBlocking(ctx, () -> {
+                ctx.write(new PacketShowArea(area.getName()));
+                objectPackets.stream().forEach(ctx::write);
+                entityPackets.stream().forEach(ctx::write);
+                characterEntities.stream().forEach(characterEntity -> {
+                    int spriteSetId = getSpriteSetId(characterEntity.getCharacter());
+                    writeSpriteSet(ctx.channel(), spriteSetId);
+                    ctx.write(new PacketCharacterSpawn(characterEntity.getId(), characterEntity.getCharacter(), spriteSetId));
+                });
+                ctx.flush();
+                int spriteSetId = getSpriteSetId(playerCharacter);
+                ByteBuf spawnPacket = encode(new PacketCharacterSpawn(entity.getId(), playerCharacter, spriteSetId));
                 try {
-                    ctx.writeAndFlush(new PacketCharacterSpawn(character, walkUpSprite, walkDownSprite, walkLeftSprite, walkRightSprite));
-                } catch (IOException exception) {
-                    exception.printStackTrace();
+                    for (Channel channel : areaGroup) {
+                        writeSpriteSet(channel, spriteSetId);
+                        writePacket(channel, spawnPacket.duplicate().retain());
+                    }
+                } finally {
+                    spawnPacket.release();
                 }
-                walkUpSprite.flush();
-                walkDownSprite.flush();
-                walkLeftSprite.flush();
-                walkRightSprite.flush();
             });
-            Player player = ctx.channel().attr(PLAYER).get();
-            Character character = server.getCharacterManager().getCharacter(player);
-            if (character == null) {
-                character = new Character(player.getId(), -1);
-                server.getCharacterManager().addCharacter(character);
-                character = server.getCharacterManager().getCharacter(player);
-            }
-            Sprite walkUpSprite = server.getCharacterManager().getWalkUpSprite(character);
-            Sprite walkDownSprite = server.getCharacterManager().getWalkDownSprite(character);
-            Sprite walkLeftSprite = server.getCharacterManager().getWalkLeftSprite(character);
-            Sprite walkRightSprite = server.getCharacterManager().getWalkRightSprite(character);
-            EntityCharacter entity = EntityFactory.spawn(EntityCharacter.class, area, 0, 0);
-            entity.setCharacter(character);
-            try {
-                channels.writeAndFlush(new PacketCharacterSpawn(character, walkUpSprite, walkDownSprite, walkLeftSprite, walkRightSprite));
-            } catch (IOException exception) {
-                exception.printStackTrace();
+        });
+    }
+
+    private void runBlocking(ChannelHandlerContext ctx, Runnable task) {
+        try {
+            ctx.channel().attr(HANDLER_EXECUTOR).get().execute(task);
+        } catch (RejectedExecutionException exception) {
+            server.getLogger().warning("Blocking handler queue is full, disconnecting " + ctx.channel().remoteAddress());
+            ctx.close();
+        }
+    }
+
+    private WorldArea getArea(String areaName) {
+        if (areaName == null) return null;
+        World defaultWorld = World.getWorld("default");
+        if (defaultWorld != null && defaultWorld.getArea(areaName) != null) return defaultWorld.getArea(areaName);
+        for (World world : World.getWorlds()) {
+            WorldArea area = world.getArea(areaName);
+            if (area != null) return area;
+        }
+        return null;
+    }
+
+    private int getSpriteSetId(Character character) {
+        CharacterManager characterManager = server.getCharacterManager();
+        return server.getAssetManager().registerSpriteSet(characterManager.getWalkUpSprite(character), characterManager.getWalkDownSprite(character), characterManager.getWalkLeftSprite(character), characterManager.getWalkRightSprite(character));
+    }
+
+    private void writeSpriteSet(Channel channel, int spriteSetId) {
+        if (channel.attr(SPRITE_SETS).get().add(spriteSetId)) {
+            channel.write(server.getAssetManager().getSpriteSet(spriteSetId));
+        }
+    }
+
+    private void handleRequestAssets(ChannelHandlerContext ctx, PacketRequestAssets packet) {
+        for (String hash : packet.getHashes()) {
+            byte[] data = server.getAssetManager().getAsset(hash);
+            if (data == null) {
+                server.getLogger().warning("Asset " + hash + " was requested by " + ctx.channel().remoteAddress() + " but has not been announced");
+                continue;
             }
-            walkUpSprite.flush();
-            walkDownSprite.flush();
-            walkLeftSprite.flush();
-            walkRightSprite.flush();
-        } else if (msg instanceof PacketControlPressed) {
-            PacketControlPressed packet = (PacketControlPressed) msg;
-            Character character = server.getCharacterManager().getCharacter(ctx.channel().attr(PLAYER).get());
-            EntityCharacter characterEntity = null;
-            worldLoop: for (World world : World.getWorlds()) {
-                for (WorldArea area : world.getAreas()) {
-                    for (Entity entity : area.getEntities()) {
-                        if (entity instanceof EntityCharacter) {
-                            if (((EntityCharacter) entity).getCharacter().getId() == character.getId()) {
-                                characterEntity = (EntityCharacter) entity;
-                                break worldLoop;
-                            }
-                        }
-                    }
+            ctx.write(new PacketSendAsset(hash, data));
+        }
+        ctx.flush();
+    }
+
+    private void handleControlPressed(ChannelHandlerContext ctx, PacketControlPressed packet) {
+        EntityCharacter characterEntity = ctx.channel().attr(CHARACTER_ENTITY).get();
+        if (characterEntity == null) return;
+        switch (packet.getControl()) {
+            case MOVE_UP:
+                characterEntity.setDirectionFacing(UP);
+                characterEntity.setVerticalSpeed(characterEntity.getVerticalSpeed() - 2);
+                break;
+            case MOVE_DOWN:
+                characterEntity.setDirectionFacing(DOWN);
+                characterEntity.setVerticalSpeed(characterEntity.getVerticalSpeed() + 2);
+                break;
+            case MOVE_LEFT:
+                characterEntity.setDirectionFacing(LEFT);
+                characterEntity.setHorizontalSpeed(characterEntity.getHorizontalSpeed() - 2);
+                break;
+            case MOVE_RIGHT:
+                characterEntity.setDirectionFacing(RIGHT);
+                characterEntity.setHorizontalSpeed(characterEntity.getHorizontalSpeed() + 2);
+                break;
+        }
+    }
+
+    private void handleControlReleased(ChannelHandlerContext ctx, PacketControlReleased packet) {
+        EntityCharacter characterEntity = ctx.channel().attr(CHARACTER_ENTITY).get();
+        if (characterEntity == null) return;
+        switch (packet.getControl()) {
+            case MOVE_UP:
+                characterEntity.setVerticalSpeed(characterEntity.getVerticalSpeed() + 2);
+                break;
+            case MOVE_DOWN:
+                characterEntity.setVerticalSpeed(characterEntity.getVerticalSpeed() - 2);
+                break;
+            case MOVE_LEFT:
+                characterEntity.setHorizontalSpeed(characterEntity.getHorizontalSpeed() + 2);
+                break;
+            case MOVE_RIGHT:
+                characterEntity.setHorizontalSpeed(characterEntity.getHorizontalSpeed() - 2);
+                break;
+        }
+    }
+
+    private void handleLocalChatMessage(ChannelHandlerContext ctx, PacketServerboundLocalChatMessage packet) {
+        ChatChannel chatChannel = server.getChatManager().getChannel(packet.getChannel());
+        EntityCharacter characterEntity = ctx.channel().attr(CHARACTER_ENTITY).get();
+        if (chatChannel == null || characterEntity == null || characterEntity.getArea() == null) return;
+        ByteBuf chatPacket = encode(new PacketClientboundLocalChatMessage(characterEntity.getCharacter(), packet.getChannel(), packet.getMessage()));
+        try {
+            characterEntity.getArea().getEntityGrid().forEachInRadius(characterEntity.getX(), characterEntity.getY(), chatChannel.getRadius(), entity -> {
+                if (entity instanceof EntityCharacter) {
+                    Channel channel = playerChannels.get(((EntityCharacter) entity).getCharacter().getPlayerId());
+                    if (channel != null) writePacket(channel, chatPacket.duplicate().retain());
                 }
+            });
+        } finally {
+            chatPacket.release();
+        }
+    }
+
+    private void handleRequestChannels(ChannelHandlerContext ctx, PacketRequestChannels packet) {
+        for (ChatChannel channel : server.getChatManager().getChannels()) {
+            ctx.write(new PacketSendChannel(channel));
+        }
+        ctx.writeAndFlush(new PacketSetChannel(server.getChatManager().getDefaultChannel().getName()));
+    }
+
+    private void handleGlobalChatMessage(ChannelHandlerContext ctx, PacketServerboundGlobalChatMessage packet) {
+        Player player = ctx.channel().attr(PLAYER).get();
+        if (player == null) return;
+        broadcastPacket(new PacketClientboundGlobalChatMessage(player, packet.getChannel(), packet.getMessage()));
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        cause.printStackTrace();
+    }
+
+    public void writePacket(Channel channel, Object packet) {
+        channel.write(packet, channel.voidPromise());
+        pendingFlushes.add(channel);
+    }
+
+    public void flushPackets() {
+        Iterator<Channel> iterator = pendingFlushes.iterator();
+        while (iterator.hasNext()) {
+            Channel channel = iterator.next();
+            iterator.remove();
+            channel.flush();
+        }
+    }
+
+    public void broadcastPacket(Packet packet) {
+        broadcastPacket(packet, null);
+    }
+
+    public void broadcastPacket(Packet packet, Channel except) {
+        ByteBuf buf = encode(packet);
+        try {
+            for (Channel channel : channels) {
+                if (channel != except) writePacket(channel, buf.duplicate().retain());
             }
-            if (characterEntity != null) {
-                switch (packet.getControl()) {
-                    case MOVE_UP:
-                        characterEntity.setDirectionFacing(UP);
-                        characterEntity.setVerticalSpeed(characterEntity.getVerticalSpeed() - 2);
-                        break;
-                    case MOVE_DOWN:
-                        characterEntity.setDirectionFacing(DOWN);
-                        characterEntity.setVerticalSpeed(characterEntity.getVerticalSpeed() + 2);
-                        break;
-                    case MOVE_LEFT:
-                        characterEntity.setDirectionFacing(LEFT);
-                        characterEntity.setHorizontalSpeed(characterEntity.getHorizontalSpeed() - 2);
-                        break;
-                    case MOVE_RIGHT:
-                        characterEntity.setDirectionFacing(RIGHT);
-                        characterEntity.setHorizontalSpeed(characterEntity.getHorizontalSpeed() + 2);
-                        break;
-                }
+        } finally {
+            buf.release();
+        }
+    }
+
+    public void broadcastEntityMoves() {
+        for (Map.Entry<WorldArea, ChannelGroup> entry : areaChannels.entrySet()) {
+            WorldArea area = entry.getKey();
+            for (Entity entity : area.getEntities()) {
+                if (entity.isSpeedChanged() || entity.isCellChanged()) changedEntities.add(entity);
+                entity.setCellChanged(false);
             }
-        } else if (msg instanceof PacketControlReleased) {
-            PacketControlReleased packet = (PacketControlReleased) msg;
-            Character character = server.getCharacterManager().getCharacter(ctx.channel().attr(PLAYER).get());
-            EntityCharacter characterEntity = null;
-            worldLoop: for (World world : World.getWorlds()) {
-                for (WorldArea area : world.getAreas()) {
-                    for (Entity entity : area.getEntities()) {
-                        if (entity instanceof EntityCharacter) {
-                            if (((EntityCharacter) entity).getCharacter().getId() == character.getId()) {
-                                characterEntity = (EntityCharacter) entity;
-                                break worldLoop;
+            try {
+                for (Channel channel : entry.getValue()) {
+                    EntityCharacter viewer = channel.attr(CHARACTER_ENTITY).get();
+                    TLongHashSet visibleEntities = channel.attr(VISIBLE_ENTITIES).get();
+                    if (viewer == null || viewer.getArea() != area || visibleEntities == null) continue;
+                    Long viewCell = getViewCell(viewer);
+                    if (!viewCell.equals(channel.attr(VIEW_CELL).getAndSet(viewCell))) {
+                        entitiesInView.clear();
+                        forEachInView(viewer, entity -> {
+                            entitiesInView.add(entity.getId());
+                            if (visibleEntities.add(entity.getId()) || entity.isSpeedChanged()) writeEntityMove(channel, entity);
+                        });
+                        visibleEntities.retainAll(entitiesInView);
+                    } else {
+                        for (Entity entity : changedEntities) {
+                            if (viewDistance > 0 && !isInView(viewer, entity)) {
+                                visibleEntities.remove(entity.getId());
+                            } else if (visibleEntities.add(entity.getId()) || entity.isSpeedChanged()) {
+                                writeEntityMove(channel, entity);
                             }
                         }
                     }
                 }
+            } finally {
+                changedEntities.clear();
+                encodedMoves.forEachValue(buf -> buf.release() || true);
+                encodedMoves.clear();
             }
-            if (characterEntity != null) {
-                switch (packet.getControl()) {
-                    case MOVE_UP:
-                        characterEntity.setVerticalSpeed(characterEntity.getVerticalSpeed() + 2);
-                        break;
-                    case MOVE_DOWN:
-                        characterEntity.setVerticalSpeed(characterEntity.getVerticalSpeed() - 2);
-                        break;
-                    case MOVE_LEFT:
-                        characterEntity.setHorizontalSpeed(characterEntity.getHorizontalSpeed() + 2);
-                        break;
-                    case MOVE_RIGHT:
-                        characterEntity.setHorizontalSpeed(characterEntity.getHorizontalSpeed() - 2);
-                        break;
-                }
-            }
-        } else if (msg instanceof PacketServerboundLocalChatMessage) {
-            PacketServerboundLocalChatMessage packet = (PacketServerboundLocalChatMessage) msg;
-            ChatChannel chatChannel = server.getChatManager().getChannel(packet.getChannel());
-            Character character = server.getCharacterManager().getCharacter(ctx.channel().attr(PLAYER).get());
-            channels.stream().filter(channel -> {
-                Player player = channel.attr(PLAYER).get();
-                EntityCharacter characterEntity = null;
-                for (Entity entity : World.getWorld("default").getArea(character.getAreaName()).getEntities()) {
-                    if (entity instanceof EntityCharacter) {
-                        if (((EntityCharacter) entity).getCharacter().getId() == character.getId()) {
-                            characterEntity = (EntityCharacter) entity;
-                        }
-                    }
-                }
-                if (characterEntity != null) {
-                    for (Entity entity : World.getWorld("default").getArea(character.getAreaName()).getEntities()) {
-                        if (entity instanceof EntityCharacter) {
-                            EntityCharacter otherCharacterEntity = (EntityCharacter) entity;
-                            if (otherCharacterEntity.getCharacter().getPlayerId() == player.getId() && (otherCharacterEntity.distanceSquared(characterEntity) <= chatChannel.getRadius() * chatChannel.getRadius())) {
-                                return true;
+        }
+    }
+
+    private void writeEntityMove(Channel channel, Entity entity) {
+        ByteBuf buf = encodedMoves.get(entity.getId());
+        if (buf == null) {
+            buf = encode(new PacketEntityMove(entity.getId(), entity.getDirectionFacing(), entity.getArea().getName(), entity.getX(), entity.getY(), entity.getHorizontalSpeed(), entity.getVerticalSpeed()));
+            encodedMoves.put(entity.getId(), buf);
+        }
+        writePacket(channel, buf.duplicate().retain());
+    }
+
+    private Long getViewCell(Entity viewer) {
+        if (viewDistance <= 0) return 0L;
+        SpatialGrid<Entity> grid = viewer.getArea().getEntityGrid();
+        return ((long) grid.getCell(viewer.getX()) << 32) | (grid.getCell(viewer.getY()) & 0xFFFFFFFFL);
+    }
+
+    private void forEachInView(Entity viewer, Consumer<Entity> consumer) {
+        if (viewDistance <= 0) {
+            viewer.getArea().getEntities().forEach(consumer);
+            return;
+        }
+        SpatialGrid<Entity> grid = viewer.getArea().getEntityGrid();
+        int cellSize = grid.getCellSize();
+        int size = (viewDistance * 2 + 1) * cellSize - 1;
+        grid.forEachInRectangle((grid.getCell(viewer.getX()) - viewDistance) * cellSize, (grid.getCell(viewer.getY()) - viewDistance) * cellSize, size, size, consumer);
+    }
+
+    public void streamChunks() {
+        for (Map.Entry<WorldArea, ChannelGroup> entry : areaChannels.entrySet()) {
+            WorldArea area = entry.getKey();
+            Map<Integer, ByteBuf> encodedChunks = new HashMap<>();
+            try {
+                for (Channel channel : entry.getValue()) {
+                    EntityCharacter entity = channel.attr(CHARACTER_ENTITY).get();
+                    Set<Integer> sentChunks = channel.attr(SENT_CHUNKS).get();
+                    if (entity == null || entity.getArea() != area || sentChunks == null) continue;
+                    int centreRow = area.getChunkRowAt(entity.getY());
+                    int centreCol = area.getChunkColumnAt(entity.getX());
+                    Long centreChunk = ((long) centreRow << 32) | (centreCol & 0xFFFFFFFFL);
+                    if (centreChunk.equals(channel.attr(CENTRE_CHUNK).getAndSet(centreChunk))) continue;
+                    for (int chunkRow = Math.max(0, centreRow - chunkViewDistance); chunkRow <= Math.min(area.getChunkRows() - 1, centreRow + chunkViewDistance); chunkRow++) {
+                        for (int chunkCol = Math.max(0, centreCol - chunkViewDistance); chunkCol <= Math.min(area.getChunkColumns() - 1, centreCol + chunkViewDistance); chunkCol++) {
+                            int chunkIndex = chunkRow * area.getChunkColumns() + chunkCol;
+                            if (!sentChunks.add(chunkIndex)) continue;
+                            ByteBuf buf = encodedChunks.get(chunkIndex);
+                            if (buf == null) {
+                                buf = encode(new PacketSendAreaChunk(area, chunkRow, chunkCol));
+                                encodedChunks.put(chunkIndex, buf);
                             }
+                            writePacket(channel, buf.duplicate().retain());
                         }
                     }
                 }
-                return false;
-            }).forEach(channel -> channel.writeAndFlush(new PacketClientboundLocalChatMessage(character, packet.getChannel(), packet.getMessage())));
-        } else if (msg instanceof PacketRequestChannels) {
-            for (ChatChannel channel : server.getChatManager().getChannels()) {
-                ctx.writeAndFlush(new PacketSendChannel(channel));
+            } finally {
+                encodedChunks.values().forEach(ByteBuf::release);
             }
-            ctx.writeAndFlush(new PacketSetChannel(server.getChatManager().getDefaultChannel().getName()));
-        } else if (msg instanceof PacketServerboundGlobalChatMessage) {
-            PacketServerboundGlobalChatMessage packet = (PacketServerboundGlobalChatMessage) msg;
-            channels.writeAndFlush(new PacketClientboundGlobalChatMessage(ctx.channel().attr(PLAYER).get(), packet.getChannel(), packet.getMessage()));
         }
     }
 
-    @Override
-    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
-        cause.printStackTrace();
+    private ByteBuf encode(Packet packet) {
+        return PacketEncoder.encode(PooledByteBufAllocator.DEFAULT, packet);
     }
 
-    public void broadcastPacket(Packet packet) {
-        channels.writeAndFlush(packet);
+    private ChannelGroup getAreaChannels(WorldArea area) {
+        return areaChannels.computeIfAbsent(area, key -> new DefaultChannelGroup(area.getWorld().getName() + "/" + area.getName(), GlobalEventExecutor.INSTANCE));
+    }
+
+    private class RegisteredHandler<T extends Packet> {
+
+        private final ExecutionMode mode;
+        private final PacketHandler<T> handler;
+
+        public RegisteredHandler(ExecutionMode mode, PacketHandler<T> handler) {
+            this.mode = mode;
+            this.handler = handler;
+        }
+
+        public ExecutionMode getMode() {
+            return mode;
+        }
+
+        @SuppressWarnings("unchecked")
+        public void handle(ChannelHandlerContext ctx, Packet packet) {
+            try {
+                handler.handle(ctx, (T) packet);
+            } catch (Exception exception) {
+                server.getLogger().log(SEVERE, "Failed to handle " + packet.getClass().getSimpleName() + " from " + ctx.channel().remoteAddress(), exception);
+            }
+        }
+
+    }
+
+    private boolean isInView(Entity viewer, Entity source) {
+        if (viewer == null || viewer.getArea() != source.getArea()) return false;
+        SpatialGrid<Entity> grid = source.getArea().getEntityGrid();
+        return Math.abs(grid.getCell(viewer.getX()) - grid.getCell(source.getX())) <= viewDistance
+                && Math.abs(grid.getCell(viewer.getY()) - grid.getCell(source.getY())) <= viewDistance;
     }
 }
@@ -1,6 +1,10 @@
 package io.github.alyphen.immaterial_realm.server.network;
 
+import io.github.alyphen.immaterial_realm.common.entity.Entity;
 import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.github.alyphen.immaterial_realm.common.packet.PacketDecoder;
+import io.github.alyphen.immaterial_realm.common.packet.PacketEncoder;
+import io.github.alyphen.immaterial_realm.common.packet.PacketFrameDecoder;
 import io.github.alyphen.immaterial_realm.server.ImmaterialRealmServer;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
@@ -9,12 +13,12 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
-import io.netty.handler.codec.serialization.ObjectEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
 
 public class NetworkManager {
 
+    private static final int MAX_FRAME_LENGTH = 64 * 1024;
+
     private ImmaterialRealmServer server;
     private int port;
     private ImmaterialRealmServerHandler handler;
@@ -40,8 +44,10 @@ public class NetworkManager {
                         @Override
                         public void initChannel(SocketChannel channel) throws Exception {
                             channel.pipeline().addLast(
-                                    new ObjectEncoder(),
-                                    new ObjectDecoder(ClassResolvers.cacheDisabled(null)),
+                                    new PacketFrameDecoder(MAX_FRAME_LENGTH),
+                                    new PacketDecoder(),
+                                    new ProtobufVarint32LengthFieldPrepender(),
+                                    new PacketEncoder(),
                                     handler
                             );
                         }
@@ -57,6 +63,18 @@ public class NetworkManager {
         }
     }
 
+    public void flushPackets() {
+        handler.flushPackets();
+    }
+
+    public void streamChunks() {
+        handler.streamChunks();
+    }
+
+    public void broadcastEntityMoves() {
+        handler.broadcastEntityMoves();
+    }
+
     public void broadcastPacket(Packet packet) {
         handler.broadcastPacket(packet);
     }
@@ -0,0 +1,11 @@
+package io.github.alyphen.immaterial_realm.server.network;
+
+import io.github.alyphen.immaterial_realm.common.packet.Packet;
+import io.netty.channel.ChannelHandlerContext;
+
+@FunctionalInterface
+public interface PacketHandler<T extends Packet> {
+
+    void handle(ChannelHandlerContext ctx, T packet) throws Exception;
+
+}
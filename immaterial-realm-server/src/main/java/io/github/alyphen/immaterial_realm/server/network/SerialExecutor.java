@@ -0,0 +1,81 @@
+package io.github.alyphen.immaterial_realm.server.network;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+class SerialExecutor implements Executor {
+
+    private final Executor executor;
+    private final int queueSize;
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean running;
+
+    public SerialExecutor(Executor executor, int queueSize) {
+        this.executor = executor;
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        synchronized (this) {
+            if (tasks.size() >= queueSize) throw new RejectedExecutionException("Channel handler queue is full");
+            tasks.add(task);
+            if (running) return;
+            running = true;
+        }
+        try {
+            executor.execute(this::runNext);
+        } catch (RejectedExecutionException exception) {
+            synchronized (this) {
+                tasks.clear();
+                running = false;
+            }
+            throw exception;
+        }
+    }
+
+    public void executeInline(Runnable task) {
+        synchronized (this) {
+            if (running) {
+                if (tasks.size() >= queueSize) throw new RejectedExecutionException("Channel handler queue is full");
+                tasks.add(task);
+                return;
+            }
+            running = true;
+        }
+        try {
+            task.run();
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    private void runNext() {
+        Runnable task;
+        synchronized (this) {
+            task = tasks.poll();
+        }
+        try {
+            if (task != null) task.run();
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    private void scheduleNext() {
+        synchronized (this) {
+            if (tasks.isEmpty()) {
+                running = false;
+                return;
+            }
+        }
+        try {
+            executor.execute(this::runNext);
+        } catch (RejectedExecutionException exception) {
+            runNext();
+        }
+    }
+
+}
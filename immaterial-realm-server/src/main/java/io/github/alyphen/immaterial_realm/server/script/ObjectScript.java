@@ -0,0 +1,145 @@
+package io.github.alyphen.immaterial_realm.server.script;
+
+import javax.script.*;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.alyphen.immaterial_realm.common.util.FileUtils.read;
+import static java.lang.System.nanoTime;
+import static javax.script.ScriptContext.GLOBAL_SCOPE;
+
+public class ObjectScript {
+
+    private static final Set<String> LIFECYCLE_HOOKS = new HashSet<>(Arrays.asList("create", "tick", "interact"));
+
+    private final ScriptEngineManager scriptEngineManager;
+    private final ScriptProfiler profiler;
+    private final String type;
+    private final File file;
+    private final String extension;
+    private final Set<String> declaredHooks;
+    private final Set<String> missingHooks = ConcurrentHashMap.newKeySet();
+    private final Queue<LoadedScript> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile int failedVersion = -1;
+
+    public ObjectScript(ScriptEngineManager scriptEngineManager, ScriptProfiler profiler, String type, File file, String extension, Collection<String> declaredHooks) {
+        this.scriptEngineManager = scriptEngineManager;
+        this.profiler = profiler;
+        this.type = type;
+        this.file = file;
+        this.extension = extension;
+        this.declaredHooks = declaredHooks == null ? null : new HashSet<>(declaredHooks);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public boolean hasHook(String hook) {
+        if (failedVersion == version.get()) return false;
+        if (declaredHooks != null && LIFECYCLE_HOOKS.contains(hook)) return declaredHooks.contains(hook);
+        return !missingHooks.contains(hook);
+    }
+
+    public Bindings createBindings(Object object) {
+        Bindings bindings = new SimpleBindings();
+        bindings.put("object", object);
+        return bindings;
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        pool.clear();
+        missingHooks.clear();
+        profiler.reset(type);
+    }
+
+    public void invoke(Bindings bindings, String function, Object... args) {
+        if (hasHook(function)) run(bindings, function, args);
+    }
+
+    public void invokeBudgeted(Bindings bindings, String function, Object... args) {
+        if (hasHook(function) && profiler.tryStart(type, function)) run(bindings, function, args);
+    }
+
+    private void run(Bindings bindings, String function, Object... args) {
+        LoadedScript script = borrow();
+        if (script == null) return;
+        ScriptContext context = script.engine.getContext();
+        Bindings previousBindings = context.getBindings(GLOBAL_SCOPE);
+        context.setBindings(bindings, GLOBAL_SCOPE);
+        long startTime = nanoTime();
+        try {
+            ((Invocable) script.engine).invokeFunction(function, args);
+        } catch (ScriptException exception) {
+            exception.printStackTrace();
+        } catch (NoSuchMethodException exception) {
+            missingHooks.add(function);
+        } finally {
+            profiler.record(type, function, nanoTime() - startTime);
+            context.setBindings(previousBindings, GLOBAL_SCOPE);
+            release(script);
+        }
+    }
+
+    private LoadedScript borrow() {
+        LoadedScript script;
+        while ((script = pool.poll()) != null) {
+            if (script.version == version.get()) return script;
+        }
+        return load();
+    }
+
+    private void release(LoadedScript script) {
+        if (script.version == version.get()) pool.offer(script);
+    }
+
+    private LoadedScript load() {
+        int loadVersion = version.get();
+        if (failedVersion == loadVersion) return null;
+        ScriptEngine engine = scriptEngineManager.getEngineByExtension(extension);
+        if (engine == null) {
+            failedVersion = loadVersion;
+            return null;
+        }
+        try {
+            String source = read(file);
+            if (engine instanceof Compilable) {
+                ((Compilable) engine).compile(source).eval();
+            } else {
+                engine.eval(source);
+            }
+        } catch (ScriptException | FileNotFoundException exception) {
+            exception.printStackTrace();
+            failedVersion = loadVersion;
+            return null;
+        }
+        return new LoadedScript(engine, loadVersion);
+    }
+
+    private static class LoadedScript {
+
+        private final ScriptEngine engine;
+        private final int version;
+
+        public LoadedScript(ScriptEngine engine, int version) {
+            this.engine = engine;
+            this.version = version;
+        }
+
+    }
+
+}
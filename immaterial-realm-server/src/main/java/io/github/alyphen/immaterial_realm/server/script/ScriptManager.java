@@ -0,0 +1,73 @@
+package io.github.alyphen.immaterial_realm.server.script;
+
+import io.github.alyphen.immaterial_realm.common.util.DirectoryWatcher;
+import io.github.alyphen.immaterial_realm.common.world.World;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
+import io.github.alyphen.immaterial_realm.server.ImmaterialRealmServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ScriptManager {
+
+    private static final String[] EXTENSIONS = {"js", "rb", "py"};
+
+    private ImmaterialRealmServer server;
+    private Map<File, ObjectScript> objectScripts = new ConcurrentHashMap<>();
+    private DirectoryWatcher watcher;
+    private ScriptProfiler profiler;
+
+    public ScriptManager(ImmaterialRealmServer server) {
+        this.server = server;
+        profiler = new ScriptProfiler(server);
+    }
+
+    public ScriptProfiler getProfiler() {
+        return profiler;
+    }
+
+    public void watch(File directory) {
+        try {
+            watcher = new DirectoryWatcher(directory.toPath(), this::onFileChanged);
+            watcher.start("script-watcher");
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    public ObjectScript getObjectScript(String type, File objectDirectory, Collection<String> hooks) {
+        for (String extension : EXTENSIONS) {
+            File file = new File(objectDirectory, "object." + extension);
+            if (file.exists()) {
+                return objectScripts.computeIfAbsent(file.getAbsoluteFile(), key -> new ObjectScript(server.getScriptEngineManager(), profiler, type, key, extension, hooks));
+            }
+        }
+        return null;
+    }
+
+    private void onFileChanged(Path path) {
+        File changedFile = path.toFile().getAbsoluteFile();
+        objectScripts.values().stream()
+                .filter(script -> script.getFile().equals(changedFile) || script.getFile().toPath().startsWith(changedFile.toPath()))
+                .forEach(script -> {
+                    server.getLogger().info("Reloading " + script.getFile().getPath());
+                    script.invalidate();
+                    server.getTickManager().queue(() -> updateTicking(script));
+                });
+    }
+
+    private void updateTicking(ObjectScript script) {
+        for (World world : World.getWorlds()) {
+            for (WorldArea area : world.getAreas()) {
+                area.getObjects().stream()
+                        .filter(object -> object instanceof ScriptedWorldObject && ((ScriptedWorldObject) object).getScript() == script)
+                        .forEach(object -> object.setTicking(script.hasHook("tick")));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package io.github.alyphen.immaterial_realm.server.script;
+
+import io.github.alyphen.immaterial_realm.server.ImmaterialRealmServer;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class ScriptProfiler {
+
+    private Logger logger;
+    private long tickBudget;
+    private long slowInvocation;
+    private Map<String, HookStats> hookStats = new ConcurrentHashMap<>();
+    private Map<String, TypeBudget> typeBudgets = new ConcurrentHashMap<>();
+
+    public ScriptProfiler(ImmaterialRealmServer server) {
+        this(server.getLogger(), MILLISECONDS.toNanos(server.getConfigurationInt("script-tick-budget", 10)), MILLISECONDS.toNanos(server.getConfigurationInt("script-slow-invocation", 5)));
+    }
+
+    public ScriptProfiler(Logger logger, long tickBudget, long slowInvocation) {
+        this.logger = logger;
+        this.tickBudget = tickBudget;
+        this.slowInvocation = slowInvocation;
+    }
+
+    public void startTick() {
+        typeBudgets.values().forEach(budget -> budget.tickNanos.set(0));
+    }
+
+    public boolean tryStart(String type, String hook) {
+        if (tickBudget <= 0) return true;
+        TypeBudget budget = getTypeBudget(type);
+        if (budget.tickNanos.get() < tickBudget) return true;
+        getHookStats(type, hook).skipped.increment();
+        if (!budget.throttled) {
+            budget.throttled = true;
+            logger.warning("Object type " + type + " exceeded its script budget of " + NANOSECONDS.toMillis(tickBudget) + "ms in one tick, skipping its tick and timer hooks for the rest of the tick");
+        }
+        return false;
+    }
+
+    public void record(String type, String hook, long nanos) {
+        HookStats stats = getHookStats(type, hook);
+        stats.invocations.increment();
+        stats.totalNanos.add(nanos);
+        long max;
+        while (nanos > (max = stats.maxNanos.get()) && !stats.maxNanos.compareAndSet(max, nanos));
+        getTypeBudget(type).tickNanos.addAndGet(nanos);
+        if (slowInvocation > 0 && nanos > slowInvocation) {
+            logger.warning("Slow script hook " + type + "." + hook + " took " + NANOSECONDS.toMicros(nanos) + "us");
+        }
+    }
+
+    public void reset(String type) {
+        hookStats.values().removeIf(stats -> stats.type.equals(type));
+        TypeBudget budget = typeBudgets.remove(type);
+        if (budget != null) budget.throttled = false;
+    }
+
+    public String getReport(int size) {
+        StringBuilder report = new StringBuilder("Top script hooks by total time:");
+        hookStats.values().stream()
+                .sorted(Comparator.comparingLong((HookStats stats) -> stats.totalNanos.sum()).reversed())
+                .limit(size)
+                .forEach(stats -> report.append('\n').append("  ").append(stats));
+        return report.toString();
+    }
+
+    private HookStats getHookStats(String type, String hook) {
+        return hookStats.computeIfAbsent(type + "." + hook, key -> new HookStats(type, hook));
+    }
+
+    private TypeBudget getTypeBudget(String type) {
+        return typeBudgets.computeIfAbsent(type, key -> new TypeBudget());
+    }
+
+    private static class TypeBudget {
+
+        private final AtomicLong tickNanos = new AtomicLong();
+        private volatile boolean throttled;
+
+    }
+
+    private static class HookStats {
+
+        private final String type;
+        private final String hook;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        public HookStats(String type, String hook) {
+            this.type = type;
+            this.hook = hook;
+        }
+
+        @Override
+        public String toString() {
+            long invocations = this.invocations.sum();
+            long totalNanos = this.totalNanos.sum();
+            return type + "." + hook
+                    + ": calls=" + invocations
+                    + ", total=" + NANOSECONDS.toMillis(totalNanos) + "ms"
+                    + ", average=" + (invocations == 0 ? 0 : NANOSECONDS.toMicros(totalNanos / invocations)) + "us"
+                    + ", max=" + NANOSECONDS.toMicros(maxNanos.get()) + "us"
+                    + ", skipped=" + skipped.sum();
+        }
+
+    }
+
+}
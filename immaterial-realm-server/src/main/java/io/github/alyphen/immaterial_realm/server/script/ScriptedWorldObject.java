@@ -0,0 +1,55 @@
+package io.github.alyphen.immaterial_realm.server.script;
+
+import io.github.alyphen.immaterial_realm.common.object.WorldObject;
+import io.github.alyphen.immaterial_realm.common.sprite.Sprite;
+import io.github.alyphen.immaterial_realm.common.tick.TickTimeout;
+
+import javax.script.Bindings;
+import java.awt.*;
+
+public class ScriptedWorldObject extends WorldObject {
+
+    private final ObjectScript script;
+    private final Bindings bindings;
+
+    public ScriptedWorldObject(long id, String type, Sprite sprite, Rectangle bounds, ObjectScript script) {
+        super(id, type, sprite, bounds);
+        this.script = script;
+        this.bindings = script.createBindings(this);
+        setTicking(script.hasHook("tick"));
+        script.invoke(bindings, "create");
+    }
+
+    public ObjectScript getScript() {
+        return script;
+    }
+
+    public Bindings getBindings() {
+        return bindings;
+    }
+
+    public TickTimeout schedule(String function, long delay) {
+        return schedule(() -> invokeTimer(function), delay);
+    }
+
+    public TickTimeout scheduleRepeating(String function, long delay, long period) {
+        return scheduleRepeating(() -> invokeTimer(function), delay, period);
+    }
+
+    private void invokeTimer(String function) {
+        if (getArea() != null) script.invokeBudgeted(bindings, function);
+    }
+
+    @Override
+    public void onInteract() {
+        script.invoke(bindings, "interact");
+    }
+
+    @Override
+    public void onTick() {
+        super.onTick();
+        script.invokeBudgeted(bindings, "tick");
+        if (!script.hasHook("tick")) setTicking(false);
+    }
+
+}
@@ -0,0 +1,218 @@
+package io.github.alyphen.immaterial_realm.server.tick;
+
+import io.github.alyphen.immaterial_realm.common.world.World;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
+import io.github.alyphen.immaterial_realm.server.ImmaterialRealmServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Logger;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.logging.Level.SEVERE;
+
+public class TickManager {
+
+    private static final int DEFAULT_TICK_LENGTH = 25;
+    private static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+    private static final int DEFAULT_CHUNK_EVICTION_INTERVAL = 200;
+    private static final long OVERRUN_REPORT_INTERVAL = SECONDS.toNanos(10);
+
+    private ImmaterialRealmServer server;
+    private Logger logger;
+    private long tickLength;
+    private int maxCatchUpTicks;
+    private int chunkEvictionInterval;
+    private int chunkEvictionDistance;
+    private ForkJoinPool areaTickPool;
+    private Queue<Runnable> queuedTasks;
+    private int overrunReportSize;
+    private long lastOverrunReport;
+
+    private volatile long tickCount;
+    private volatile long lastTickDuration;
+    private volatile long lastTickLateness;
+    private volatile long maxTickDuration;
+    private volatile long totalTickDuration;
+    private volatile long overrunTicks;
+    private volatile long lateTicks;
+    private volatile long skippedTicks;
+
+    public TickManager(ImmaterialRealmServer server) {
+        this(server.getLogger(), MILLISECONDS.toNanos(server.getConfigurationInt("tick-length", DEFAULT_TICK_LENGTH)), server.getConfigurationInt("max-catch-up-ticks", DEFAULT_MAX_CATCH_UP_TICKS));
+        this.server = server;
+        chunkEvictionInterval = server.getConfigurationInt("chunk-eviction-interval", DEFAULT_CHUNK_EVICTION_INTERVAL);
+        chunkEvictionDistance = server.getConfigurationInt("chunk-view-distance", 1) + 1;
+        overrunReportSize = server.getConfigurationInt("overrun-report-size", 5);
+        if (server.getConfigurationBoolean("parallel-area-ticks", false)) {
+            areaTickPool = new ForkJoinPool(server.getConfigurationInt("area-tick-threads", Runtime.getRuntime().availableProcessors()));
+        }
+    }
+
+    public TickManager(Logger logger, long tickLength, int maxCatchUpTicks) {
+        this.logger = logger;
+        this.tickLength = tickLength;
+        this.maxCatchUpTicks = maxCatchUpTicks;
+        queuedTasks = new ConcurrentLinkedQueue<>();
+    }
+
+    public void run() {
+        long nextTickTime = nanoTime();
+        while (server.isRunning()) {
+            long now = nanoTime();
+            if (now < nextTickTime) {
+                parkNanos(nextTickTime - now);
+                continue;
+            }
+            nextTickTime = startTick(now, nextTickTime);
+            long startTime = nanoTime();
+            server.doTick();
+            long duration = nanoTime() - startTime;
+            if (finishTick(duration)) reportOverrun(duration);
+            nextTickTime += tickLength;
+        }
+    }
+
+    public long startTick(long now, long nextTickTime) {
+        long lateness = now - nextTickTime;
+        long ticksBehind = lateness / tickLength;
+        if (ticksBehind > maxCatchUpTicks) {
+            long skipped = ticksBehind - maxCatchUpTicks;
+            logger.warning("Tick " + tickCount + " started " + NANOSECONDS.toMillis(lateness) + "ms late, skipping " + skipped + " ticks");
+            skippedTicks += skipped;
+            nextTickTime += skipped * tickLength;
+            lateness = now - nextTickTime;
+        }
+        if (lateness >= tickLength) lateTicks++;
+        lastTickLateness = lateness;
+        return nextTickTime;
+    }
+
+    public boolean finishTick(long duration) {
+        boolean overrun = duration > tickLength;
+        if (overrun) overrunTicks++;
+        if (duration > maxTickDuration) maxTickDuration = duration;
+        totalTickDuration += duration;
+        lastTickDuration = duration;
+        tickCount++;
+        return overrun;
+    }
+
+    private void reportOverrun(long duration) {
+        if (overrunReportSize <= 0) return;
+        long now = nanoTime();
+        if (lastOverrunReport != 0 && now - lastOverrunReport < OVERRUN_REPORT_INTERVAL) return;
+        lastOverrunReport = now;
+        logger.warning("Tick " + (tickCount - 1) + " took " + NANOSECONDS.toMillis(duration) + "ms (" + this + ")\n" + server.getScriptManager().getProfiler().getReport(overrunReportSize));
+    }
+
+    public void queue(Runnable task) {
+        queuedTasks.add(task);
+    }
+
+    public void runQueuedTasks() {
+        Runnable task;
+        while ((task = queuedTasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException exception) {
+                logger.log(SEVERE, "Queued tick task failed", exception);
+            }
+        }
+    }
+
+    public void tickAreas() {
+        if (areaTickPool == null) {
+            World.getWorlds().stream().forEach(World::onTick);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (World world : World.getWorlds()) {
+                for (WorldArea area : world.getAreas()) {
+                    tasks.add(areaTickPool.submit(area::onTick));
+                }
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                try {
+                    task.join();
+                } catch (RuntimeException exception) {
+                    logger.log(SEVERE, "Area tick failed", exception);
+                }
+            }
+        }
+    }
+
+    public void evictChunks() {
+        if (chunkEvictionInterval <= 0 || tickCount % chunkEvictionInterval != 0) return;
+        for (World world : World.getWorlds()) {
+            for (WorldArea area : world.getAreas()) {
+                area.evictChunks(chunkEvictionDistance);
+            }
+        }
+    }
+
+    public boolean isParallelAreaTicks() {
+        return areaTickPool != null;
+    }
+
+    public long getTickLength() {
+        return tickLength;
+    }
+
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public long getLastTickDuration() {
+        return lastTickDuration;
+    }
+
+    public long getLastTickLateness() {
+        return lastTickLateness;
+    }
+
+    public long getMaxTickDuration() {
+        return maxTickDuration;
+    }
+
+    public long getAverageTickDuration() {
+        long tickCount = getTickCount();
+        return tickCount == 0 ? 0 : totalTickDuration / tickCount;
+    }
+
+    public long getOverrunTicks() {
+        return overrunTicks;
+    }
+
+    public long getLateTicks() {
+        return lateTicks;
+    }
+
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    @Override
+    public String toString() {
+        return "ticks=" + getTickCount()
+                + ", last=" + NANOSECONDS.toMicros(getLastTickDuration()) + "us"
+                + ", average=" + NANOSECONDS.toMicros(getAverageTickDuration()) + "us"
+                + ", max=" + NANOSECONDS.toMicros(getMaxTickDuration()) + "us"
+                + ", lateness=" + NANOSECONDS.toMicros(getLastTickLateness()) + "us"
+                + ", overrun=" + getOverrunTicks()
+                + ", late=" + getLateTicks()
+                + ", skipped=" + getSkippedTicks();
+    }
+
+}
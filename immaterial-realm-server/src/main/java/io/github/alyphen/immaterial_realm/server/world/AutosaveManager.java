@@ -0,0 +1,114 @@
+package io.github.alyphen.immaterial_realm.server.world;
+
+import io.github.alyphen.immaterial_realm.common.character.Character;
+import io.github.alyphen.immaterial_realm.common.entity.Entity;
+import io.github.alyphen.immaterial_realm.common.entity.EntityCharacter;
+import io.github.alyphen.immaterial_realm.common.world.AreaSnapshot;
+import io.github.alyphen.immaterial_realm.common.world.World;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
+import io.github.alyphen.immaterial_realm.server.ImmaterialRealmServer;
+import io.github.alyphen.immaterial_realm.server.character.CharacterLocation;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.logging.Level.SEVERE;
+
+public class AutosaveManager {
+
+    private static final int DEFAULT_AUTOSAVE_INTERVAL = 300;
+
+    private ImmaterialRealmServer server;
+    private long intervalTicks;
+    private ExecutorService saveExecutor;
+    private List<CharacterLocation> departedCharacters;
+    private boolean saving;
+
+    public AutosaveManager(ImmaterialRealmServer server) {
+        this.server = server;
+        intervalTicks = SECONDS.toNanos(server.getConfigurationInt("autosave-interval", DEFAULT_AUTOSAVE_INTERVAL)) / server.getTickManager().getTickLength();
+        departedCharacters = new ArrayList<>();
+        saveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "world-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void onTick() {
+        if (intervalTicks <= 0 || saving || server.getTickManager().getTickCount() % intervalTicks != 0) return;
+        List<AreaSnapshot> snapshots = new ArrayList<>();
+        List<CharacterLocation> locations = new ArrayList<>(departedCharacters);
+        departedCharacters.clear();
+        for (World world : World.getWorlds()) {
+            for (WorldArea area : world.getAreas()) {
+                if (area.getDirectory() != null && area.isDirty()) {
+                    AreaSnapshot snapshot = area.createSnapshot(area.getDirectory());
+                    server.getJournalManager().rotate(area, snapshot.getSequence());
+                    snapshots.add(snapshot);
+                }
+                for (Entity entity : area.getEntities()) {
+                    if (entity instanceof EntityCharacter) {
+                        CharacterLocation location = getMovedLocation((EntityCharacter) entity);
+                        if (location != null) locations.add(location);
+                    }
+                }
+            }
+        }
+        if (snapshots.isEmpty() && locations.isEmpty()) return;
+        saving = true;
+        saveExecutor.execute(() -> save(snapshots, locations));
+    }
+
+    public void onCharacterLeft(EntityCharacter entity) {
+        CharacterLocation location = getMovedLocation(entity);
+        if (location != null) departedCharacters.add(location);
+    }
+
+    private CharacterLocation getMovedLocation(EntityCharacter entity) {
+        Character character = entity.getCharacter();
+        WorldArea area = entity.getArea();
+        if (character == null || area == null) return null;
+        if (character.getX() == entity.getX() && character.getY() == entity.getY() && area.getName().equals(character.getAreaName())) return null;
+        character.setAreaName(area.getName());
+        character.setX(entity.getX());
+        character.setY(entity.getY());
+        return new CharacterLocation(character.getId(), area.getName(), entity.getX(), entity.getY());
+    }
+
+    private void save(List<AreaSnapshot> snapshots, List<CharacterLocation> locations) {
+        long startTime = nanoTime();
+        try {
+            for (AreaSnapshot snapshot : snapshots) {
+                try {
+                    snapshot.save();
+                    server.getJournalManager().discard(snapshot.getDirectory(), snapshot.getSequence());
+                } catch (IOException exception) {
+                    server.getLogger().log(SEVERE, "Failed to save area " + snapshot.getArea().getName() + " to " + snapshot.getDirectory(), exception);
+                }
+            }
+            if (!locations.isEmpty()) {
+                try {
+                    server.getCharacterManager().updateLocations(locations);
+                } catch (SQLException exception) {
+                    server.getLogger().log(SEVERE, "Failed to save " + locations.size() + " character locations", exception);
+                    server.getTickManager().queue(() -> departedCharacters.addAll(0, locations));
+                }
+            }
+            server.getLogger().fine("Autosaved " + snapshots.size() + " areas and " + locations.size() + " character locations in " + NANOSECONDS.toMillis(nanoTime() - startTime) + "ms");
+        } finally {
+            server.getTickManager().queue(() -> {
+                snapshots.forEach(snapshot -> snapshot.getArea().finishSave(snapshot));
+                saving = false;
+            });
+        }
+    }
+
+}
@@ -0,0 +1,252 @@
+package io.github.alyphen.immaterial_realm.server.world;
+
+import io.github.alyphen.immaterial_realm.common.object.WorldObject;
+import io.github.alyphen.immaterial_realm.common.tile.Tile;
+import io.github.alyphen.immaterial_realm.common.world.AreaChangeListener;
+import io.github.alyphen.immaterial_realm.common.world.AreaJournal;
+import io.github.alyphen.immaterial_realm.common.world.World;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
+import io.github.alyphen.immaterial_realm.server.ImmaterialRealmServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Logger;
+
+import static io.github.alyphen.immaterial_realm.common.util.FileUtils.syncDirectory;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.logging.Level.SEVERE;
+
+public class JournalManager implements AreaChangeListener {
+
+    private static final int DEFAULT_COMMIT_INTERVAL = 50;
+
+    private Logger logger;
+    private long commitInterval;
+    private BlockingQueue<JournalEntry> queue;
+    private Map<File, FileChannel> channels;
+    private Thread writerThread;
+    private long queuedEntries;
+    private long committedEntries;
+    private boolean closed;
+
+    public JournalManager(ImmaterialRealmServer server) {
+        this(server.getLogger(), server.getConfigurationInt("journal-commit-interval", DEFAULT_COMMIT_INTERVAL));
+    }
+
+    public JournalManager(Logger logger, long commitInterval) {
+        this.logger = logger;
+        this.commitInterval = commitInterval;
+        queue = new LinkedBlockingQueue<>();
+        channels = new HashMap<>();
+        writerThread = new Thread(this::run, "world-journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void recover() {
+        for (World world : World.getWorlds()) {
+            for (WorldArea area : world.getAreas()) {
+                if (area.getDirectory() == null) continue;
+                try {
+                    int applied = AreaJournal.replay(area, area.getDirectory());
+                    if (applied > 0) logger.info("Replayed " + applied + " journalled changes to area " + area.getName());
+                } catch (IOException exception) {
+                    logger.log(SEVERE, "Failed to replay the journal for area " + area.getName(), exception);
+                }
+                area.setChangeListener(this);
+            }
+        }
+    }
+
+    @Override
+    public void onTileChanged(WorldArea area, long sequence, int row, int col, Tile tile) {
+        append(area, AreaJournal.tileChanged(sequence, row, col, tile));
+    }
+
+    @Override
+    public void onObjectAdded(WorldArea area, long sequence, WorldObject object) {
+        append(area, AreaJournal.objectAdded(sequence, object));
+    }
+
+    @Override
+    public void onObjectRemoved(WorldArea area, long sequence, WorldObject object) {
+        append(area, AreaJournal.objectRemoved(sequence, object));
+    }
+
+    private void append(WorldArea area, byte[] record) {
+        if (area.getDirectory() != null) enqueue(new JournalEntry(JournalEntry.Type.RECORD, area.getDirectory(), record, 0));
+    }
+
+    public void rotate(WorldArea area, long sequence) {
+        if (area.getDirectory() != null) enqueue(new JournalEntry(JournalEntry.Type.ROTATE, area.getDirectory(), null, sequence));
+    }
+
+    public void discard(File directory, long sequence) {
+        enqueue(new JournalEntry(JournalEntry.Type.DISCARD, directory, null, sequence));
+    }
+
+    public synchronized void flush() throws InterruptedException {
+        long target = queuedEntries;
+        while (committedEntries < target) {
+            wait();
+        }
+    }
+
+    public void close() throws InterruptedException {
+        synchronized (this) {
+            if (closed) return;
+            enqueue(new JournalEntry(JournalEntry.Type.STOP, null, null, 0));
+            closed = true;
+        }
+        writerThread.join();
+        for (FileChannel channel : channels.values()) {
+            try {
+                channel.close();
+            } catch (IOException exception) {
+                logger.log(SEVERE, "Failed to close journal", exception);
+            }
+        }
+        channels.clear();
+    }
+
+    private synchronized void enqueue(JournalEntry entry) {
+        if (closed) {
+            logger.warning("Dropped a journal entry for " + entry.getDirectory() + " after the journal was closed");
+            return;
+        }
+        queuedEntries++;
+        queue.add(entry);
+    }
+
+    private void run() {
+        List<JournalEntry> batch = new ArrayList<>();
+        Set<FileChannel> unsynced = new HashSet<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+                if (commitInterval > 0) Thread.sleep(commitInterval);
+            } catch (InterruptedException exception) {
+                return;
+            }
+            queue.drainTo(batch);
+            boolean stopped = false;
+            for (JournalEntry entry : batch) {
+                if (entry.getType() == JournalEntry.Type.STOP) {
+                    stopped = true;
+                    continue;
+                }
+                try {
+                    process(entry, unsynced);
+                } catch (IOException exception) {
+                    logger.log(SEVERE, "Failed to write journal entry for " + entry.getDirectory(), exception);
+                }
+            }
+            for (FileChannel channel : unsynced) {
+                try {
+                    channel.force(false);
+                } catch (IOException exception) {
+                    logger.log(SEVERE, "Failed to sync journal", exception);
+                }
+            }
+            synchronized (this) {
+                committedEntries += batch.size();
+                notifyAll();
+            }
+            if (stopped) return;
+            batch.clear();
+            unsynced.clear();
+        }
+    }
+
+    private void process(JournalEntry entry, Set<FileChannel> unsynced) throws IOException {
+        File directory = entry.getDirectory();
+        switch (entry.getType()) {
+            case RECORD:
+                FileChannel channel = channels.get(directory);
+                if (channel == null) {
+                    if (!directory.exists()) directory.mkdirs();
+                    boolean created = !AreaJournal.getJournalFile(directory).exists();
+                    channel = FileChannel.open(AreaJournal.getJournalFile(directory).toPath(), CREATE, WRITE, APPEND);
+                    channels.put(directory, channel);
+                    if (created) syncDirectory(directory);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(entry.getRecord());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                unsynced.add(channel);
+                break;
+            case ROTATE:
+                FileChannel rotatedChannel = channels.remove(directory);
+                if (rotatedChannel != null) {
+                    unsynced.remove(rotatedChannel);
+                    try {
+                        rotatedChannel.force(false);
+                    } finally {
+                        rotatedChannel.close();
+                    }
+                }
+                File journalFile = AreaJournal.getJournalFile(directory);
+                if (journalFile.exists()) {
+                    File segmentFile = AreaJournal.getSegmentFile(directory, entry.getSequence());
+                    try {
+                        Files.move(journalFile.toPath(), segmentFile.toPath(), ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException exception) {
+                        Files.move(journalFile.toPath(), segmentFile.toPath());
+                    }
+                    syncDirectory(directory);
+                }
+                break;
+            case DISCARD:
+                AreaJournal.deleteSegments(directory, entry.getSequence());
+                break;
+        }
+    }
+
+    private static class JournalEntry {
+
+        private enum Type {
+            RECORD, ROTATE, DISCARD, STOP
+        }
+
+        private final Type type;
+        private final File directory;
+        private final byte[] record;
+        private final long sequence;
+
+        public JournalEntry(Type type, File directory, byte[] record, long sequence) {
+            this.type = type;
+            this.directory = directory;
+            this.record = record;
+            this.sequence = sequence;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public File getDirectory() {
+            return directory;
+        }
+
+        public byte[] getRecord() {
+            return record;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+    }
+
+}
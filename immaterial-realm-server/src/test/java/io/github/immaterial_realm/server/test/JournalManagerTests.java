@@ -0,0 +1,133 @@
+package io.github.immaterial_realm.server.test;
+
+import com.insightfullogic.lambdabehave.JunitSuiteRunner;
+import io.github.alyphen.immaterial_realm.common.tile.TileSheet;
+import io.github.alyphen.immaterial_realm.common.world.AreaJournal;
+import io.github.alyphen.immaterial_realm.common.world.AreaSnapshot;
+import io.github.alyphen.immaterial_realm.common.world.World;
+import io.github.alyphen.immaterial_realm.common.world.WorldArea;
+import io.github.alyphen.immaterial_realm.server.world.JournalManager;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import static com.insightfullogic.lambdabehave.Suite.describe;
+import static io.github.alyphen.immaterial_realm.common.util.FileUtils.deleteDirectory;
+import static io.github.immaterial_realm.common.test.AreaFixtures.createArea;
+import static io.github.immaterial_realm.common.test.AreaFixtures.createTileSheet;
+import static java.nio.file.StandardOpenOption.APPEND;
+
+@RunWith(JunitSuiteRunner.class)
+public class JournalManagerTests {{
+    describe("a journal manager", it -> {
+        it.should("commit a group of changes to the journal", expect -> {
+            TileSheet sheet = createTileSheet("journal-commit-test");
+            File directory = Files.createTempDirectory("journal-commit-test").toFile();
+            JournalManager journalManager = new JournalManager(Logger.getAnonymousLogger(), 50);
+            try {
+                WorldArea area = createArea(directory, "commit", 1, 3, (row, col) -> sheet.getTile(0, 0));
+                area.setChangeListener(journalManager);
+                area.setTileAt(0, 0, sheet.getTile(1, 1));
+                area.setTileAt(0, 1, sheet.getTile(1, 0));
+                area.setTileAt(0, 2, null);
+                journalManager.flush();
+                WorldArea recovered = WorldArea.load(World.create("commit"), directory);
+                expect.that(AreaJournal.replay(recovered, directory)).is(3);
+                expect.that(recovered.getSequence()).is(area.getSequence());
+                expect.that(recovered.getTileAt(0, 0) == sheet.getTile(1, 1)).is(true);
+                expect.that(recovered.getTileAt(0, 1) == sheet.getTile(1, 0)).is(true);
+                expect.that(recovered.getTileAt(0, 2) == null).is(true);
+            } finally {
+                journalManager.close();
+                deleteDirectory(directory);
+            }
+        });
+
+        it.should("rotate the journal for a snapshot and discard the segment once it is saved", expect -> {
+            TileSheet sheet = createTileSheet("journal-rotate-test");
+            File directory = Files.createTempDirectory("journal-rotate-test").toFile();
+            JournalManager journalManager = new JournalManager(Logger.getAnonymousLogger(), 50);
+            try {
+                WorldArea area = createArea(directory, "rotate", 1, 3, (row, col) -> sheet.getTile(0, 0));
+                area.setChangeListener(journalManager);
+                area.setTileAt(0, 0, sheet.getTile(1, 1));
+                AreaSnapshot snapshot = area.createSnapshot(directory);
+                journalManager.rotate(area, snapshot.getSequence());
+                area.setTileAt(0, 1, sheet.getTile(1, 0));
+                journalManager.flush();
+                File segmentFile = AreaJournal.getSegmentFile(directory, snapshot.getSequence());
+                expect.that(segmentFile.exists()).is(true);
+                expect.that(AreaJournal.getJournalFile(directory).exists()).is(true);
+                snapshot.save();
+                journalManager.discard(directory, snapshot.getSequence());
+                area.finishSave(snapshot);
+                journalManager.flush();
+                expect.that(segmentFile.exists()).is(false);
+                WorldArea recovered = WorldArea.load(World.create("rotate"), directory);
+                expect.that(recovered.getSequence()).is(snapshot.getSequence());
+                expect.that(AreaJournal.replay(recovered, directory)).is(1);
+                expect.that(recovered.getTileAt(0, 0) == sheet.getTile(1, 1)).is(true);
+                expect.that(recovered.getTileAt(0, 1) == sheet.getTile(1, 0)).is(true);
+            } finally {
+                journalManager.close();
+                deleteDirectory(directory);
+            }
+        });
+
+        it.should("recover every change after a crash between rotating and saving", expect -> {
+            TileSheet sheet = createTileSheet("journal-crash-test");
+            File directory = Files.createTempDirectory("journal-crash-test").toFile();
+            JournalManager journalManager = new JournalManager(Logger.getAnonymousLogger(), 50);
+            try {
+                WorldArea area = createArea(directory, "crash", 1, 3, (row, col) -> sheet.getTile(0, 0));
+                area.setChangeListener(journalManager);
+                area.setTileAt(0, 0, sheet.getTile(1, 1));
+                AreaSnapshot snapshot = area.createSnapshot(directory);
+                journalManager.rotate(area, snapshot.getSequence());
+                area.setTileAt(0, 1, sheet.getTile(1, 0));
+                journalManager.flush();
+                File journalFile = AreaJournal.getJournalFile(directory);
+                long journalLength = journalFile.length();
+                byte[] tornRecord = AreaJournal.tileChanged(area.getSequence() + 1, 0, 2, sheet.getTile(0, 1));
+                Files.write(journalFile.toPath(), Arrays.copyOf(tornRecord, tornRecord.length / 2), APPEND);
+                WorldArea recovered = WorldArea.load(World.create("crash"), directory);
+                expect.that(recovered.getSequence()).is(0L);
+                expect.that(AreaJournal.replay(recovered, directory)).is(2);
+                expect.that(recovered.getSequence()).is(area.getSequence());
+                expect.that(recovered.getTileAt(0, 0) == sheet.getTile(1, 1)).is(true);
+                expect.that(recovered.getTileAt(0, 1) == sheet.getTile(1, 0)).is(true);
+                expect.that(recovered.getTileAt(0, 2) == sheet.getTile(0, 0)).is(true);
+                expect.that(journalFile.length()).is(journalLength);
+            } finally {
+                journalManager.close();
+                deleteDirectory(directory);
+            }
+        });
+
+        it.should("commit queued changes and close its files when it is closed", expect -> {
+            TileSheet sheet = createTileSheet("journal-close-test");
+            File directory = Files.createTempDirectory("journal-close-test").toFile();
+            JournalManager journalManager = new JournalManager(Logger.getAnonymousLogger(), 50);
+            try {
+                WorldArea area = createArea(directory, "close", 1, 3, (row, col) -> sheet.getTile(0, 0));
+                area.setChangeListener(journalManager);
+                area.setTileAt(0, 0, sheet.getTile(1, 1));
+                area.setTileAt(0, 1, sheet.getTile(1, 0));
+                journalManager.close();
+                area.setTileAt(0, 2, sheet.getTile(0, 1));
+                journalManager.flush();
+                WorldArea recovered = WorldArea.load(World.create("close"), directory);
+                expect.that(AreaJournal.replay(recovered, directory)).is(2);
+                expect.that(recovered.getTileAt(0, 0) == sheet.getTile(1, 1)).is(true);
+                expect.that(recovered.getTileAt(0, 1) == sheet.getTile(1, 0)).is(true);
+                expect.that(recovered.getTileAt(0, 2) == sheet.getTile(0, 0)).is(true);
+            } finally {
+                journalManager.close();
+                deleteDirectory(directory);
+            }
+        });
+    });
+}}
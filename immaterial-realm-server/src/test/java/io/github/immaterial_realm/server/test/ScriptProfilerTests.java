@@ -0,0 +1,60 @@
+package io.github.immaterial_realm.server.test;
+
+import com.insightfullogic.lambdabehave.JunitSuiteRunner;
+import io.github.alyphen.immaterial_realm.server.script.ScriptProfiler;
+import org.junit.runner.RunWith;
+
+import java.util.logging.Logger;
+
+import static com.insightfullogic.lambdabehave.Suite.describe;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@RunWith(JunitSuiteRunner.class)
+public class ScriptProfilerTests {{
+    describe("a script profiler", it -> {
+        long tickBudget = MILLISECONDS.toNanos(10);
+
+        it.should("throttle an object type once it has used its tick budget", expect -> {
+            ScriptProfiler profiler = new ScriptProfiler(Logger.getAnonymousLogger(), tickBudget, 0);
+            expect.that(profiler.tryStart("lamp", "tick")).is(true);
+            profiler.record("lamp", "tick", tickBudget / 2);
+            expect.that(profiler.tryStart("lamp", "tick")).is(true);
+            profiler.record("lamp", "tick", tickBudget / 2);
+            expect.that(profiler.tryStart("lamp", "tick")).is(false);
+            expect.that(profiler.tryStart("lamp", "flicker")).is(false);
+            expect.that(profiler.tryStart("door", "tick")).is(true);
+        });
+
+        it.should("restore the budget at the start of the next tick", expect -> {
+            ScriptProfiler profiler = new ScriptProfiler(Logger.getAnonymousLogger(), tickBudget, 0);
+            profiler.record("lamp", "tick", tickBudget * 2);
+            expect.that(profiler.tryStart("lamp", "tick")).is(false);
+            profiler.startTick();
+            expect.that(profiler.tryStart("lamp", "tick")).is(true);
+        });
+
+        it.should("report skipped hooks with their timings", expect -> {
+            ScriptProfiler profiler = new ScriptProfiler(Logger.getAnonymousLogger(), tickBudget, 0);
+            profiler.record("lamp", "tick", tickBudget * 2);
+            profiler.tryStart("lamp", "tick");
+            profiler.tryStart("lamp", "tick");
+            String report = profiler.getReport(5);
+            expect.that(report.contains("lamp.tick: calls=1, total=20ms")).is(true);
+            expect.that(report.contains("skipped=2")).is(true);
+        });
+
+        it.should("forget an object type's timings and throttling when it is reset", expect -> {
+            ScriptProfiler profiler = new ScriptProfiler(Logger.getAnonymousLogger(), tickBudget, 0);
+            profiler.record("lamp", "tick", tickBudget * 2);
+            profiler.reset("lamp");
+            expect.that(profiler.tryStart("lamp", "tick")).is(true);
+            expect.that(profiler.getReport(5).contains("lamp.tick")).is(false);
+        });
+
+        it.should("never throttle when the budget is disabled", expect -> {
+            ScriptProfiler profiler = new ScriptProfiler(Logger.getAnonymousLogger(), 0, 0);
+            profiler.record("lamp", "tick", tickBudget * 100);
+            expect.that(profiler.tryStart("lamp", "tick")).is(true);
+        });
+    });
+}}
@@ -0,0 +1,63 @@
+package io.github.immaterial_realm.server.test;
+
+import com.insightfullogic.lambdabehave.JunitSuiteRunner;
+import io.github.alyphen.immaterial_realm.server.tick.TickManager;
+import org.junit.runner.RunWith;
+
+import java.util.logging.Logger;
+
+import static com.insightfullogic.lambdabehave.Suite.describe;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@RunWith(JunitSuiteRunner.class)
+public class TickManagerTests {{
+    describe("a tick manager", it -> {
+        long tickLength = MILLISECONDS.toNanos(25);
+
+        it.should("start a tick on schedule without counting it as late", expect -> {
+            TickManager tickManager = new TickManager(Logger.getAnonymousLogger(), tickLength, 5);
+            expect.that(tickManager.startTick(tickLength / 2, 0)).is(0L);
+            expect.that(tickManager.getLateTicks()).is(0L);
+            expect.that(tickManager.getSkippedTicks()).is(0L);
+            expect.that(tickManager.getLastTickLateness()).is(tickLength / 2);
+        });
+
+        it.should("catch up on missed ticks within the catch-up limit", expect -> {
+            TickManager tickManager = new TickManager(Logger.getAnonymousLogger(), tickLength, 5);
+            long nextTickTime = 0;
+            long now = 3 * tickLength;
+            for (int i = 0; i < 4; i++) {
+                nextTickTime = tickManager.startTick(now, nextTickTime);
+                tickManager.finishTick(0);
+                nextTickTime += tickLength;
+            }
+            expect.that(nextTickTime).is(4 * tickLength);
+            expect.that(tickManager.getSkippedTicks()).is(0L);
+            expect.that(tickManager.getLateTicks()).is(3L);
+            expect.that(tickManager.getTickCount()).is(4L);
+        });
+
+        it.should("skip the ticks beyond the catch-up limit", expect -> {
+            TickManager tickManager = new TickManager(Logger.getAnonymousLogger(), tickLength, 5);
+            long now = 10 * tickLength + tickLength / 2;
+            long nextTickTime = tickManager.startTick(now, 0);
+            expect.that(nextTickTime).is(5 * tickLength);
+            expect.that(tickManager.getSkippedTicks()).is(5L);
+            expect.that(tickManager.getLateTicks()).is(1L);
+            expect.that(tickManager.getLastTickLateness()).is(5 * tickLength + tickLength / 2);
+            tickManager.startTick(now, nextTickTime + tickLength);
+            expect.that(tickManager.getSkippedTicks()).is(5L);
+        });
+
+        it.should("count overrunning ticks and track tick durations", expect -> {
+            TickManager tickManager = new TickManager(Logger.getAnonymousLogger(), tickLength, 5);
+            expect.that(tickManager.finishTick(tickLength / 2)).is(false);
+            expect.that(tickManager.finishTick(tickLength * 2)).is(true);
+            expect.that(tickManager.getTickCount()).is(2L);
+            expect.that(tickManager.getOverrunTicks()).is(1L);
+            expect.that(tickManager.getLastTickDuration()).is(tickLength * 2);
+            expect.that(tickManager.getMaxTickDuration()).is(tickLength * 2);
+            expect.that(tickManager.getAverageTickDuration()).is((tickLength / 2 + tickLength * 2) / 2);
+        });
+    });
+}}